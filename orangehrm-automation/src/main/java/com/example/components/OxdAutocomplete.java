@@ -0,0 +1,113 @@
+package com.example.components;
+
+import com.example.config.Constants;
+import com.example.utils.WaitUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Component object for the OrangeHRM oxd-autocomplete input (Employee Name, Supervisor Name, etc.).
+ */
+public class OxdAutocomplete extends OxdComponent {
+
+    private static final By input = By.cssSelector("input");
+
+    /**
+     * Returns the suggestion texts once the backend search has finished, or null while it is still running.
+     */
+    private static final String READ_SUGGESTIONS_SCRIPT =
+            "var dropdown = arguments[0].querySelector('.oxd-autocomplete-dropdown'); " +
+            "if (!dropdown) { return null; } " +
+            "var options = dropdown.querySelectorAll('.oxd-autocomplete-option'); " +
+            "var texts = []; " +
+            "for (var i = 0; i < options.length; i++) { " +
+            "    var text = options[i].textContent.replace(/\\s+/g, ' ').trim(); " +
+            "    if (text.indexOf('Searching') === 0) { return null; } " +
+            "    if (text !== 'No Records Found') { texts.push(text); } " +
+            "} " +
+            "return options.length > 0 ? texts : null;";
+
+    private static final String CLICK_SUGGESTION_SCRIPT =
+            "var options = arguments[0].querySelectorAll('.oxd-autocomplete-option'); " +
+            "for (var i = 0; i < options.length; i++) { " +
+            "    if (options[i].textContent.replace(/\\s+/g, ' ').trim() === arguments[1]) { options[i].click(); return true; } " +
+            "} " +
+            "return false;";
+
+    /**
+     * Constructor for the OxdAutocomplete wrapping an already located autocomplete wrapper.
+     * @param driver The WebDriver instance
+     * @param root The .oxd-autocomplete-wrapper element
+     */
+    public OxdAutocomplete(WebDriver driver, WebElement root) {
+        super(driver, root);
+    }
+
+    /**
+     * Creates an OxdAutocomplete for the form field with the given label.
+     * @param driver The WebDriver instance
+     * @param label The exact label text of the form field
+     * @return The OxdAutocomplete instance
+     */
+    public static OxdAutocomplete byLabel(WebDriver driver, String label) {
+        return new OxdAutocomplete(driver,
+                findInputGroup(driver, label).findElement(By.cssSelector(".oxd-autocomplete-wrapper")));
+    }
+
+    /**
+     * Types a search text into the autocomplete input.
+     * @param text The text to type
+     * @return The OxdAutocomplete instance for method chaining
+     */
+    public OxdAutocomplete type(String text) {
+        WebElement inputElement = root.findElement(input);
+        inputElement.clear();
+        inputElement.sendKeys(text);
+        return this;
+    }
+
+    /**
+     * Gets the current input value.
+     * @return The input value
+     */
+    public String getValue() {
+        return root.findElement(input).getAttribute("value");
+    }
+
+    /**
+     * Waits for the search to finish and reads all suggestions in one script call.
+     * @return The suggestion texts, empty if no records were found
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getSuggestions() {
+        List<Object> suggestions = WaitUtils.createFluentWait(driver, WaitUtils.defaultTimeout(), Constants.POLLING_INTERVAL)
+                .until(webDriver -> (List<Object>) executeOnRoot(READ_SUGGESTIONS_SCRIPT));
+        List<String> result = new ArrayList<>(suggestions.size());
+        for (Object suggestion : suggestions) {
+            result.add(String.valueOf(suggestion));
+        }
+        return result;
+    }
+
+    /**
+     * Types a search text and selects the suggestion with the given text.
+     * @param searchText The text to type
+     * @param suggestion The exact suggestion text to select
+     * @return The OxdAutocomplete instance for method chaining
+     * @throws NoSuchElementException if no suggestion has the given text
+     */
+    public OxdAutocomplete select(String searchText, String suggestion) {
+        type(searchText);
+        List<String> suggestions = getSuggestions();
+        Boolean clicked = (Boolean) executeOnRoot(CLICK_SUGGESTION_SCRIPT, suggestion);
+        if (!Boolean.TRUE.equals(clicked)) {
+            throw new NoSuchElementException("No suggestion '" + suggestion + "' in " + suggestions);
+        }
+        return this;
+    }
+}
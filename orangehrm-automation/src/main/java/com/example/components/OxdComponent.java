@@ -0,0 +1,90 @@
+package com.example.components;
+
+import com.example.utils.JavaScriptExecutorUtil;
+import com.example.utils.WaitUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Base class for OrangeHRM "oxd" UI components.
+ * A component wraps the root element of one widget and reads its state in as few script calls as possible.
+ */
+public abstract class OxdComponent {
+
+    private static final String FIND_INPUT_GROUP_SCRIPT =
+            "var groups = document.querySelectorAll('.oxd-input-group'); " +
+            "for (var i = 0; i < groups.length; i++) { " +
+            "    var label = groups[i].querySelector('label'); " +
+            "    if (label && label.textContent.trim() === arguments[0]) { return groups[i]; } " +
+            "} " +
+            "return null;";
+
+    protected final WebDriver driver;
+    protected final WebElement root;
+
+    /**
+     * Constructor for an OxdComponent.
+     * @param driver The WebDriver instance
+     * @param root The root element of the component
+     */
+    protected OxdComponent(WebDriver driver, WebElement root) {
+        this.driver = driver;
+        this.root = root;
+    }
+
+    /**
+     * Gets the root element of the component.
+     * @return The root WebElement
+     */
+    public WebElement getRoot() {
+        return root;
+    }
+
+    /**
+     * Checks if the component is displayed.
+     * @return true if the component is displayed, false otherwise
+     */
+    public boolean isDisplayed() {
+        return root.isDisplayed();
+    }
+
+    /**
+     * Runs a script with the root element as arguments[0].
+     * @param script The script to execute
+     * @param args Additional script arguments, available from arguments[1]
+     * @return The script result
+     */
+    protected Object executeOnRoot(String script, Object... args) {
+        Object[] scriptArgs = new Object[args.length + 1];
+        scriptArgs[0] = root;
+        System.arraycopy(args, 0, scriptArgs, 1, args.length);
+        return JavaScriptExecutorUtil.executeScript(driver, script, scriptArgs);
+    }
+
+    /**
+     * Waits for an element located by the given selector and returns it.
+     * @param driver The WebDriver instance
+     * @param locator The locator for the root element
+     * @return The visible root element
+     */
+    protected static WebElement waitForRoot(WebDriver driver, By locator) {
+        return WaitUtils.waitForElementVisible(driver, locator, WaitUtils.defaultTimeout());
+    }
+
+    /**
+     * Finds the form input group whose label matches the given text in a single script call.
+     * @param driver The WebDriver instance
+     * @param label The exact label text of the form field
+     * @return The input group element
+     * @throws NoSuchElementException if no input group has the label
+     */
+    protected static WebElement findInputGroup(WebDriver driver, String label) {
+        Object group = JavaScriptExecutorUtil.executeScript(driver, FIND_INPUT_GROUP_SCRIPT, label);
+        if (!(group instanceof WebElement)) {
+            throw new NoSuchElementException("No oxd input group found with label: " + label);
+        }
+        return (WebElement) group;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.components;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Component object for the OrangeHRM oxd-date-input (From Date, To Date, Date of Birth, etc.).
+ * Dates are typed in the format configured in OrangeHRM localization (yyyy-dd-mm on the demo site).
+ */
+public class OxdDatePicker extends OxdComponent {
+
+    private static final By input = By.cssSelector(".oxd-date-input input");
+
+    /**
+     * Constructor for the OxdDatePicker wrapping an already located date wrapper.
+     * @param driver The WebDriver instance
+     * @param root The .oxd-date-wrapper element
+     */
+    public OxdDatePicker(WebDriver driver, WebElement root) {
+        super(driver, root);
+    }
+
+    /**
+     * Creates an OxdDatePicker for the form field with the given label.
+     * @param driver The WebDriver instance
+     * @param label The exact label text of the form field
+     * @return The OxdDatePicker instance
+     */
+    public static OxdDatePicker byLabel(WebDriver driver, String label) {
+        return new OxdDatePicker(driver, findInputGroup(driver, label).findElement(By.cssSelector(".oxd-date-wrapper")));
+    }
+
+    /**
+     * Replaces the date with the given text.
+     * The field is cleared with select-all, since the Vue model ignores WebElement.clear().
+     * @param date The date text
+     * @return The OxdDatePicker instance for method chaining
+     */
+    public OxdDatePicker setDate(String date) {
+        WebElement inputElement = root.findElement(input);
+        inputElement.sendKeys(Keys.chord(Keys.CONTROL, "a"), Keys.DELETE);
+        inputElement.sendKeys(date);
+        return this;
+    }
+
+    /**
+     * Gets the current date text.
+     * @return The date text
+     */
+    public String getDate() {
+        return root.findElement(input).getAttribute("value");
+    }
+}
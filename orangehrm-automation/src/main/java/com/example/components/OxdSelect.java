@@ -0,0 +1,109 @@
+package com.example.components;
+
+import com.example.utils.WaitUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Component object for the OrangeHRM oxd-select dropdown (User Role, Status, Employment Status, etc.).
+ */
+public class OxdSelect extends OxdComponent {
+
+    private static final By selectText = By.cssSelector(".oxd-select-text");
+    private static final By dropdown = By.cssSelector(".oxd-select-dropdown");
+
+    private static final String READ_OPTIONS_SCRIPT =
+            "return Array.prototype.map.call(arguments[0].querySelectorAll('.oxd-select-option'), " +
+            "    function(option) { return option.textContent.trim(); });";
+
+    private static final String CLICK_OPTION_SCRIPT =
+            "var options = arguments[0].querySelectorAll('.oxd-select-option'); " +
+            "for (var i = 0; i < options.length; i++) { " +
+            "    if (options[i].textContent.trim() === arguments[1]) { options[i].click(); return true; } " +
+            "} " +
+            "return false;";
+
+    /**
+     * Constructor for the OxdSelect wrapping an already located select wrapper.
+     * @param driver The WebDriver instance
+     * @param root The .oxd-select-wrapper element
+     */
+    public OxdSelect(WebDriver driver, WebElement root) {
+        super(driver, root);
+    }
+
+    /**
+     * Creates an OxdSelect for the form field with the given label.
+     * @param driver The WebDriver instance
+     * @param label The exact label text of the form field
+     * @return The OxdSelect instance
+     */
+    public static OxdSelect byLabel(WebDriver driver, String label) {
+        return new OxdSelect(driver, findInputGroup(driver, label).findElement(By.cssSelector(".oxd-select-wrapper")));
+    }
+
+    /**
+     * Gets the currently selected option text.
+     * @return The selected option text
+     */
+    public String getSelectedText() {
+        return (String) executeOnRoot(
+                "return arguments[0].querySelector('.oxd-select-text-input').textContent.trim();");
+    }
+
+    /**
+     * Gets all options of the dropdown. The dropdown is opened and the options are read in one script call.
+     * @return The option texts
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> getOptions() {
+        open();
+        List<Object> options = (List<Object>) executeOnRoot(READ_OPTIONS_SCRIPT);
+        close();
+        List<String> result = new ArrayList<>(options.size());
+        for (Object option : options) {
+            result.add(String.valueOf(option));
+        }
+        return result;
+    }
+
+    /**
+     * Selects the option with the given text.
+     * @param optionText The option text to select
+     * @return The OxdSelect instance for method chaining
+     * @throws NoSuchElementException if no option has the given text
+     */
+    public OxdSelect select(String optionText) {
+        open();
+        Boolean clicked = (Boolean) executeOnRoot(CLICK_OPTION_SCRIPT, optionText);
+        if (!Boolean.TRUE.equals(clicked)) {
+            close();
+            throw new NoSuchElementException("No option '" + optionText + "' in oxd-select");
+        }
+        return this;
+    }
+
+    /**
+     * Opens the dropdown if it is not already open.
+     */
+    private void open() {
+        if (root.findElements(dropdown).isEmpty()) {
+            root.findElement(selectText).click();
+        }
+        WaitUtils.waitForElementVisible(driver, dropdown, WaitUtils.defaultTimeout());
+    }
+
+    /**
+     * Closes the dropdown if it is open.
+     */
+    private void close() {
+        if (!root.findElements(dropdown).isEmpty()) {
+            root.findElement(selectText).click();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.components;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Component object for the OrangeHRM oxd-table list grid (employee list, system users, etc.).
+ * The whole grid is read in a single script call, so reading a page costs one round trip
+ * regardless of how many rows and cells it has.
+ */
+public class OxdTable extends OxdComponent {
+
+    public static final By DEFAULT_LOCATOR = By.cssSelector(".oxd-table");
+
+    static final String READ_TABLE_SCRIPT =
+            "var table = arguments[0]; " +
+            "function text(el) { return el.textContent.replace(/\\s+/g, ' ').trim(); } " +
+            "var headers = Array.prototype.map.call(table.querySelectorAll('.oxd-table-header .oxd-table-header-cell'), text); " +
+            "var rows = Array.prototype.map.call(table.querySelectorAll('.oxd-table-body .oxd-table-row'), function(row) { " +
+            "    return Array.prototype.map.call(row.querySelectorAll('.oxd-table-cell'), text); " +
+            "}); " +
+            "return { headers: headers, rows: rows };";
+
+    /**
+     * Constructor for the OxdTable using the first table on the page.
+     * @param driver The WebDriver instance
+     */
+    public OxdTable(WebDriver driver) {
+        this(driver, DEFAULT_LOCATOR);
+    }
+
+    /**
+     * Constructor for the OxdTable located by the given locator.
+     * @param driver The WebDriver instance
+     * @param locator The locator for the table root
+     */
+    public OxdTable(WebDriver driver, By locator) {
+        super(driver, waitForRoot(driver, locator));
+    }
+
+    /**
+     * Constructor for the OxdTable wrapping an already located root element.
+     * @param driver The WebDriver instance
+     * @param root The table root element
+     */
+    public OxdTable(WebDriver driver, WebElement root) {
+        super(driver, root);
+    }
+
+    /**
+     * Reads the headers and all rows of the table in one script call.
+     * @return A snapshot of the table contents
+     */
+    @SuppressWarnings("unchecked")
+    public Snapshot read() {
+        Map<String, Object> data = (Map<String, Object>) executeOnRoot(READ_TABLE_SCRIPT);
+        return Snapshot.fromScriptResult(data);
+    }
+
+    /**
+     * Gets all rows of the table keyed by column header.
+     * @return A list of rows, each mapping header to cell text
+     */
+    public List<Map<String, String>> getRows() {
+        return read().getRows();
+    }
+
+    /**
+     * Gets the table column headers.
+     * @return The column headers
+     */
+    public List<String> getHeaders() {
+        return read().getHeaders();
+    }
+
+    /**
+     * Gets the number of rows currently rendered in the table.
+     * @return The row count
+     */
+    public int getRowCount() {
+        Number count = (Number) executeOnRoot(
+                "return arguments[0].querySelectorAll('.oxd-table-body .oxd-table-row').length;");
+        return count.intValue();
+    }
+
+    /**
+     * Immutable snapshot of an oxd-table read in a single call.
+     */
+    public static class Snapshot {
+        private final List<String> headers;
+        private final List<List<String>> cells;
+
+        /**
+         * Constructor for Snapshot.
+         * @param headers The column headers
+         * @param cells The cell text of each row, in column order
+         */
+        public Snapshot(List<String> headers, List<List<String>> cells) {
+            this.headers = Collections.unmodifiableList(headers);
+            this.cells = Collections.unmodifiableList(cells);
+        }
+
+        @SuppressWarnings("unchecked")
+        static Snapshot fromScriptResult(Map<String, Object> data) {
+            List<String> headers = new ArrayList<>();
+            for (Object header : (List<Object>) data.get("headers")) {
+                headers.add(String.valueOf(header));
+            }
+            List<List<String>> cells = new ArrayList<>();
+            for (Object row : (List<Object>) data.get("rows")) {
+                List<String> rowCells = new ArrayList<>();
+                for (Object cell : (List<Object>) row) {
+                    rowCells.add(String.valueOf(cell));
+                }
+                cells.add(rowCells);
+            }
+            return new Snapshot(headers, cells);
+        }
+
+        /**
+         * Gets the column headers.
+         * @return The column headers
+         */
+        public List<String> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * Gets the raw cell grid.
+         * @return The cell text of each row, in column order
+         */
+        public List<List<String>> getCells() {
+            return cells;
+        }
+
+        /**
+         * Gets the number of rows.
+         * @return The row count
+         */
+        public int getRowCount() {
+            return cells.size();
+        }
+
+        /**
+         * Gets all rows keyed by column header. Columns without a header (checkbox, blank) are skipped.
+         * @return A list of rows, each mapping header to cell text
+         */
+        public List<Map<String, String>> getRows() {
+            List<Map<String, String>> rows = new ArrayList<>(cells.size());
+            for (List<String> rowCells : cells) {
+                Map<String, String> row = new LinkedHashMap<>();
+                for (int i = 0; i < headers.size() && i < rowCells.size(); i++) {
+                    if (!headers.get(i).isEmpty()) {
+                        row.put(headers.get(i), rowCells.get(i));
+                    }
+                }
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        /**
+         * Gets all values of one column.
+         * @param header The column header
+         * @return The column values in row order
+         * @throws IllegalArgumentException if the table has no such column
+         */
+        public List<String> getColumn(String header) {
+            int index = headers.indexOf(header);
+            if (index < 0) {
+                throw new IllegalArgumentException("No column '" + header + "' in table headers " + headers);
+            }
+            List<String> values = new ArrayList<>(cells.size());
+            for (List<String> rowCells : cells) {
+                values.add(index < rowCells.size() ? rowCells.get(index) : "");
+            }
+            return values;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("OxdTable.Snapshot{headers=%s, rows=%d}", headers, cells.size());
+        }
+    }
+}
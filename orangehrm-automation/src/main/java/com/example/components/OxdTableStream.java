@@ -0,0 +1,132 @@
+package com.example.components;
+
+import com.example.config.Constants;
+import com.example.utils.JavaScriptExecutorUtil;
+import com.example.utils.WaitUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily streams the rows of a paginated OrangeHRM list (employee list, system users, etc.).
+ * Each page costs one script call, which reads the whole grid and immediately clicks the next
+ * pagination button. The browser therefore fetches and renders the next page while the caller is
+ * still consuming the current one, and the next read only has to wait for whatever load time is left.
+ */
+public class OxdTableStream {
+
+    private static final Logger logger = LogManager.getLogger(OxdTableStream.class);
+
+    private static final String READ_PAGE_AND_ADVANCE_SCRIPT =
+            "var table = arguments[0]; " +
+            "function text(el) { return el.textContent.replace(/\\s+/g, ' ').trim(); } " +
+            "var headers = Array.prototype.map.call(table.querySelectorAll('.oxd-table-header .oxd-table-header-cell'), text); " +
+            "var rows = Array.prototype.map.call(table.querySelectorAll('.oxd-table-body .oxd-table-row'), function(row) { " +
+            "    return Array.prototype.map.call(row.querySelectorAll('.oxd-table-cell'), text); " +
+            "}); " +
+            "var selected = document.querySelector('.oxd-pagination-page-item--page-selected'); " +
+            "var page = selected ? parseInt(selected.textContent.trim(), 10) : 1; " +
+            "var next = null; " +
+            "var buttons = document.querySelectorAll('.oxd-pagination-page-item--previous-next'); " +
+            "for (var i = 0; i < buttons.length; i++) { " +
+            "    if (buttons[i].querySelector('.bi-chevron-right') && !buttons[i].disabled) { next = buttons[i]; } " +
+            "} " +
+            "if (next) { next.click(); } " +
+            "return { headers: headers, rows: rows, page: page, hasNext: next !== null };";
+
+    private static final String PAGE_READY_SCRIPT =
+            "var selected = document.querySelector('.oxd-pagination-page-item--page-selected'); " +
+            "return selected !== null && selected.textContent.trim() === String(arguments[0]) " +
+            "    && document.querySelector('.oxd-table-loader, .oxd-loading-spinner') === null " +
+            "    && document.querySelector('.oxd-table') !== null;";
+
+    private final WebDriver driver;
+    private final By tableLocator;
+
+    /**
+     * Constructor for the OxdTableStream over the first table on the page.
+     * @param driver The WebDriver instance
+     */
+    public OxdTableStream(WebDriver driver) {
+        this(driver, OxdTable.DEFAULT_LOCATOR);
+    }
+
+    /**
+     * Constructor for the OxdTableStream over the table located by the given locator.
+     * @param driver The WebDriver instance
+     * @param tableLocator The locator for the table root
+     */
+    public OxdTableStream(WebDriver driver, By tableLocator) {
+        this.driver = driver;
+        this.tableLocator = tableLocator;
+    }
+
+    /**
+     * Streams the list page by page, starting at the page currently shown.
+     * Pages are read on demand, so short-circuiting operations stop paginating early.
+     * @return A lazy, sequential stream of page snapshots
+     */
+    public Stream<OxdTable.Snapshot> pages() {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(new PageIterator(), Spliterator.ORDERED | Spliterator.NONNULL),
+                false);
+    }
+
+    /**
+     * Streams all rows across all pages, keyed by column header.
+     * @return A lazy, sequential stream of rows
+     */
+    public Stream<Map<String, String>> rows() {
+        return pages().flatMap(page -> page.getRows().stream());
+    }
+
+    /**
+     * Iterates over list pages, advancing the pagination as a side effect of each read.
+     */
+    private class PageIterator implements Iterator<OxdTable.Snapshot> {
+        private boolean hasNext = true;
+        private int expectedPage = -1;
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public OxdTable.Snapshot next() {
+            if (!hasNext) {
+                throw new NoSuchElementException("No more pages in " + tableLocator);
+            }
+            if (expectedPage > 0) {
+                waitForPage(expectedPage);
+            }
+
+            Map<String, Object> data = (Map<String, Object>) JavaScriptExecutorUtil.executeScript(
+                    driver, READ_PAGE_AND_ADVANCE_SCRIPT,
+                    WaitUtils.waitForElementVisible(driver, tableLocator, WaitUtils.defaultTimeout()));
+            int page = ((Number) data.get("page")).intValue();
+            hasNext = Boolean.TRUE.equals(data.get("hasNext"));
+            expectedPage = page + 1;
+
+            OxdTable.Snapshot snapshot = OxdTable.Snapshot.fromScriptResult(data);
+            logger.debug("Read page {} with {} rows (more pages: {})", page, snapshot.getRowCount(), hasNext);
+            return snapshot;
+        }
+
+        private void waitForPage(int page) {
+            WaitUtils.createFluentWait(driver, Constants.PAGE_LOAD_TIMEOUT, Constants.POLLING_INTERVAL)
+                    .until(webDriver -> Boolean.TRUE.equals(
+                            JavaScriptExecutorUtil.executeScript(webDriver, PAGE_READY_SCRIPT, page)));
+        }
+    }
+}
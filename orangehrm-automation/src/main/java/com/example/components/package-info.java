@@ -0,0 +1,2 @@
+// orangehrm-automation/src/main/java/com/example/components/package-info.java
+package com.example.components;
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.example.config;
+
+/**
+ * Listener notified when the configuration snapshot is replaced by a reload.
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * Called after a new configuration snapshot has been published.
+     * @param previous The snapshot that was replaced
+     * @param current The newly published snapshot
+     */
+    void onConfigChange(ConfigSnapshot previous, ConfigSnapshot current);
+}
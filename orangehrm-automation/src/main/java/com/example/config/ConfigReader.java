@@ -3,29 +3,54 @@ package com.example.config;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Reads configuration properties from various sources.
  * This class provides access to configuration properties with environment-specific overrides.
+ * All layers are read from the classpath, so the framework does not depend on the working directory.
+ * The merged result is published as an immutable {@link ConfigSnapshot} through a volatile reference,
+ * so reads never contend on the synchronized {@link Properties} table.
  */
 public class ConfigReader {
 
     private static final Logger logger = LogManager.getLogger(ConfigReader.class);
-    private static final Properties properties = new Properties();
     private static final String DEFAULT_ENV = "staging";
-    private static String currentEnv;
+    private static final String DEFAULT_CONFIG = "config.properties";
+    private static final String ENVIRONMENTS_DIR = "environments/";
+    private static final String ENV_VAR_PREFIX = "ORANGEHRM_";
+    private static final String OVERRIDE_FILE_PROPERTY = "config.file";
+    private static final Map<String, ConfigSnapshot> cache = new ConcurrentHashMap<>();
+    private static final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private static volatile ConfigSnapshot snapshot;
+    private static ConfigWatcher watcher;
 
     static {
-        loadDefaultProperties();
-        loadEnvironmentProperties();
-        loadSystemProperties();
+        snapshot = forEnvironment(resolveEnvironment());
+        if (snapshot.getBoolean("config_reload", false)) {
+            startWatching();
+        }
+    }
+
+    /**
+     * Gets the current configuration snapshot.
+     * Callers that read several settings should fetch the snapshot once and use its typed accessors.
+     * @return The current configuration snapshot
+     */
+    public static ConfigSnapshot getSnapshot() {
+        return snapshot;
     }
 
     /**
@@ -34,7 +59,7 @@ public class ConfigReader {
      * @return The property value or null if not found
      */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return snapshot.get(key);
     }
 
     /**
@@ -44,7 +69,7 @@ public class ConfigReader {
      * @return The property value or the default value if not found
      */
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return snapshot.get(key, defaultValue);
     }
 
     /**
@@ -52,52 +77,221 @@ public class ConfigReader {
      * @return The current environment name
      */
     public static String getEnvironment() {
-        return currentEnv;
+        return snapshot.getEnvironment();
+    }
+
+    /**
+     * Gets the configuration snapshot for a specific environment.
+     * Snapshots are merged once per environment and cached, so repeated lookups do no I/O.
+     * @param environment The environment name, e.g. "staging"
+     * @return The configuration snapshot for the environment
+     */
+    public static ConfigSnapshot forEnvironment(String environment) {
+        return cache.computeIfAbsent(environment, ConfigReader::load);
+    }
+
+    /**
+     * Registers a listener that is notified whenever a reload publishes a new snapshot.
+     * @param listener The listener to register
+     */
+    public static void addChangeListener(ConfigChangeListener listener) {
+        listeners.add(listener);
     }
 
     /**
-     * Loads the default properties from config.properties.
+     * Removes a previously registered change listener.
+     * @param listener The listener to remove
      */
-    private static void loadDefaultProperties() {
-        try (InputStream input = new FileInputStream("src/main/resources/config.properties")) {
-            properties.load(input);
-            logger.info("Loaded default properties");
+    public static void removeChangeListener(ConfigChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Re-reads all configuration layers of the current environment and atomically swaps the snapshot.
+     * If the new configuration fails validation the previous snapshot stays active.
+     * @return The active snapshot after the reload
+     */
+    public static synchronized ConfigSnapshot reload() {
+        ConfigSnapshot previous = snapshot;
+        ConfigSnapshot current;
+        try {
+            current = load(previous.getEnvironment());
+        } catch (RuntimeException e) {
+            logger.error("Configuration reload rejected, keeping previous configuration: {}", e.getMessage(), e);
+            return previous;
+        }
+
+        cache.put(current.getEnvironment(), current);
+        snapshot = current;
+        logChanges(previous, current);
+        for (ConfigChangeListener listener : listeners) {
+            try {
+                listener.onConfigChange(previous, current);
+            } catch (RuntimeException e) {
+                logger.error("Configuration change listener failed: {}", e.getMessage(), e);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Starts watching the external override file named by -Dconfig.file and reloads when it changes.
+     * The bundled config.properties and environments/*.properties are read from the classpath, i.e. the build's
+     * copies (target/classes or the jar), so editing them in src/main/resources has no effect until the next build
+     * and they are not watched. Enabled automatically when config_reload=true.
+     */
+    public static synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        String overrideFile = System.getProperty(OVERRIDE_FILE_PROPERTY);
+        if (overrideFile == null) {
+            logger.warn("config_reload is set but no -D{} file is given, live reload disabled", OVERRIDE_FILE_PROPERTY);
+            return;
+        }
+
+        ConfigWatcher newWatcher = new ConfigWatcher(List.of(Paths.get(overrideFile)), ConfigReader::reload);
+        try {
+            newWatcher.start();
+            watcher = newWatcher;
         } catch (IOException e) {
-            logger.error("Failed to load default properties", e);
-            throw new RuntimeException("Failed to load config.properties", e);
+            logger.error("Failed to start configuration watcher: {}", e.getMessage(), e);
         }
     }
 
     /**
-     * Loads environment-specific properties based on the environment parameter.
+     * Stops watching configuration files.
      */
-    private static void loadEnvironmentProperties() {
-        // Get environment from system property or use default
-        currentEnv = System.getProperty("environment", DEFAULT_ENV);
+    public static synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.stop();
+            watcher = null;
+        }
+    }
 
-        // Try to load environment-specific properties
-        Path envPropertiesPath = Paths.get("src/main/resources/environments/", currentEnv + ".properties");
+    /**
+     * Logs every property that was added, changed or removed by a reload. Secrets are masked.
+     * @param previous The replaced snapshot
+     * @param current The new snapshot
+     */
+    private static void logChanges(ConfigSnapshot previous, ConfigSnapshot current) {
+        Set<String> keys = new TreeSet<>(previous.asMap().keySet());
+        keys.addAll(current.asMap().keySet());
+        int changes = 0;
+        for (String key : keys) {
+            String oldValue = previous.get(key);
+            String newValue = current.get(key);
+            if (!Objects.equals(oldValue, newValue)) {
+                boolean secret = key.toLowerCase().contains("password");
+                logger.info("Configuration changed: {} = {} -> {}", key,
+                        secret && oldValue != null ? "****" : oldValue,
+                        secret && newValue != null ? "****" : newValue);
+                changes++;
+            }
+        }
+        logger.info("Configuration reloaded for {} with {} changed properties", current.getEnvironment(), changes);
+    }
+
+    /**
+     * Resolves the environment from the "environment" system property or the ORANGEHRM_ENVIRONMENT variable.
+     * @return The environment name
+     */
+    private static String resolveEnvironment() {
+        String environment = System.getProperty("environment");
+        if (environment == null) {
+            environment = System.getenv(ENV_VAR_PREFIX + "ENVIRONMENT");
+        }
+        return environment != null ? environment : DEFAULT_ENV;
+    }
+
+    /**
+     * Loads, merges and validates all configuration layers for an environment.
+     * Layers, from lowest to highest precedence: classpath config.properties, classpath
+     * environments/&lt;environment&gt;.properties, the optional file named by -Dconfig.file,
+     * ORANGEHRM_* environment variables and system properties.
+     * @param environment The environment name
+     * @return The configuration snapshot
+     */
+    private static ConfigSnapshot load(String environment) {
+        Properties properties = new Properties();
+        loadClasspathProperties(properties, DEFAULT_CONFIG, true);
+        loadClasspathProperties(properties, ENVIRONMENTS_DIR + environment + ".properties", false);
+        String overrideFile = System.getProperty(OVERRIDE_FILE_PROPERTY);
+        if (overrideFile != null) {
+            loadFileProperties(properties, Paths.get(overrideFile));
+        }
+        loadEnvironmentVariables(properties);
+        loadSystemProperties(properties);
+
+        ConfigSnapshot loaded = ConfigSnapshot.of(properties, environment);
+        logger.info("Loaded configuration: {}", loaded);
+        return loaded;
+    }
 
-        if (Files.exists(envPropertiesPath)) {
-            try (InputStream input = new FileInputStream(envPropertiesPath.toFile())) {
-                Properties envProperties = new Properties();
-                envProperties.load(input);
+    /**
+     * Loads a properties layer from the classpath, overriding keys already present.
+     * @param properties The properties to load into
+     * @param resource The classpath resource name
+     * @param required Whether a missing resource is an error
+     */
+    private static void loadClasspathProperties(Properties properties, String resource, boolean required) {
+        try (InputStream input = ConfigReader.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                if (required) {
+                    throw new RuntimeException("Configuration not found on classpath: " + resource);
+                }
+                logger.warn("No configuration layer found on classpath: {}", resource);
+                return;
+            }
+            Properties layer = new Properties();
+            layer.load(input);
+            properties.putAll(layer);
+            logger.info("Loaded configuration layer: {}", resource);
+        } catch (IOException e) {
+            logger.error("Failed to load configuration layer: {}", resource, e);
+            throw new RuntimeException("Failed to load " + resource, e);
+        }
+    }
 
-                // Override default properties with environment-specific ones
-                properties.putAll(envProperties);
-                logger.info("Loaded environment properties for: {}", currentEnv);
-            } catch (IOException e) {
-                logger.error("Failed to load environment properties for: {}", currentEnv, e);
+    /**
+     * Loads a properties layer from a file on disk, overriding keys already present.
+     * @param properties The properties to load into
+     * @param file The properties file
+     */
+    private static void loadFileProperties(Properties properties, Path file) {
+        try (InputStream input = Files.newInputStream(file)) {
+            Properties layer = new Properties();
+            layer.load(input);
+            properties.putAll(layer);
+            logger.info("Loaded configuration layer: {}", file);
+        } catch (IOException e) {
+            logger.error("Failed to load configuration layer: {}", file, e);
+            throw new RuntimeException("Failed to load " + file, e);
+        }
+    }
+
+    /**
+     * Overrides configuration properties with ORANGEHRM_* environment variables.
+     * A key maps to its upper-cased name with non-alphanumeric characters replaced by underscores,
+     * e.g. default_timeout is overridden by ORANGEHRM_DEFAULT_TIMEOUT.
+     * @param properties The properties to override
+     */
+    private static void loadEnvironmentVariables(Properties properties) {
+        Map<String, String> env = System.getenv();
+        for (String key : properties.stringPropertyNames()) {
+            String envValue = env.get(ENV_VAR_PREFIX + key.toUpperCase().replaceAll("[^A-Z0-9]", "_"));
+            if (envValue != null) {
+                properties.setProperty(key, envValue);
+                logger.info("Overriding property from environment variable: {}", key);
             }
-        } else {
-            logger.warn("No environment properties file found for: {}", currentEnv);
         }
     }
 
     /**
      * Loads system properties to override configuration properties.
+     * @param properties The properties to override
      */
-    private static void loadSystemProperties() {
+    private static void loadSystemProperties(Properties properties) {
         // Override with system properties (command line arguments)
         Properties systemProps = System.getProperties();
         for (String key : properties.stringPropertyNames()) {
@@ -108,4 +302,4 @@ public class ConfigReader {
             }
         }
     }
-}
\ No newline at end of file
+}
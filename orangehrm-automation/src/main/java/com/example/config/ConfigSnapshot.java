@@ -0,0 +1,183 @@
+package com.example.config;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Immutable, parsed view of the merged configuration.
+ * Values are copied out of {@link Properties} into a plain map once, and the settings read on hot paths
+ * (browser, headless, retry count) are parsed and validated up front, so lookups need no locking
+ * and no re-parsing under parallel execution. Timeouts and session limits are resolved by {@link ExecutionProfile}.
+ */
+public final class ConfigSnapshot {
+
+    private static final Set<String> SUPPORTED_BROWSERS = Set.of("chrome", "firefox", "edge", "safari");
+
+    private final Map<String, String> values;
+    private final String environment;
+    private final String browser;
+    private final boolean headless;
+    private final int retryCount;
+
+    private ConfigSnapshot(Map<String, String> values, String environment) {
+        this.values = Collections.unmodifiableMap(values);
+        this.environment = environment;
+        this.browser = parseBrowser(values.getOrDefault("browser", Constants.BROWSER));
+        this.headless = parseBoolean("headless", values.getOrDefault("headless", "false"));
+        this.retryCount = parseInt("retryCount", values.get("retryCount"), Constants.RETRY_COUNT, 0);
+    }
+
+    /**
+     * Creates a snapshot from merged properties.
+     * @param properties The merged properties
+     * @param environment The environment the properties were resolved for
+     * @return The snapshot
+     * @throws IllegalArgumentException if a typed setting has an invalid value
+     */
+    public static ConfigSnapshot of(Properties properties, String environment) {
+        Map<String, String> values = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key).trim());
+        }
+        return new ConfigSnapshot(values, environment);
+    }
+
+    /**
+     * Gets a property value by key.
+     * @param key The property key
+     * @return The property value or null if not found
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Gets a property value by key with a default value if not found.
+     * @param key The property key
+     * @param defaultValue The default value to return if the key is not found
+     * @return The property value or the default value if not found
+     */
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Gets an integer property value.
+     * @param key The property key
+     * @param defaultValue The default value to return if the key is not found
+     * @return The parsed value or the default value if not found
+     * @throws IllegalArgumentException if the value is not an integer
+     */
+    public int getInt(String key, int defaultValue) {
+        return parseInt(key, values.get(key), defaultValue, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Gets an integer property value that must not be below a minimum.
+     * @param key The property key
+     * @param defaultValue The default value to return if the key is not found
+     * @param minValue The smallest valid value
+     * @return The parsed value or the default value if not found
+     * @throws IllegalArgumentException if the value is not an integer or below the minimum
+     */
+    public int getInt(String key, int defaultValue, int minValue) {
+        return parseInt(key, values.get(key), defaultValue, minValue);
+    }
+
+    /**
+     * Gets a decimal property value.
+     * @param key The property key
+     * @param defaultValue The default value to return if the key is not found
+     * @return The parsed value or the default value if not found
+     * @throws IllegalArgumentException if the value is not a number
+     */
+    public double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * Gets a boolean property value.
+     * @param key The property key
+     * @param defaultValue The default value to return if the key is not found
+     * @return The parsed value or the default value if not found
+     * @throws IllegalArgumentException if the value is neither "true" nor "false"
+     */
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : parseBoolean(key, value);
+    }
+
+    /**
+     * Gets all properties as an unmodifiable map.
+     * @return The property map
+     */
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    private static String parseBrowser(String value) {
+        String browser = value.toLowerCase();
+        if (!SUPPORTED_BROWSERS.contains(browser)) {
+            throw new IllegalArgumentException("Unsupported browser type: " + value);
+        }
+        return browser;
+    }
+
+    private static boolean parseBoolean(String key, String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid boolean for " + key + ": " + value);
+    }
+
+    private static int parseInt(String key, String value, int defaultValue, int minValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < minValue) {
+                throw new IllegalArgumentException("Value for " + key + " must be at least " + minValue + ": " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for " + key + ": " + value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConfigSnapshot{environment=%s, browser=%s, headless=%s, retryCount=%d, keys=%d}",
+                environment, browser, headless, retryCount, values.size());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.config;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches configuration files with an NIO {@link WatchService} and triggers a reload when one changes.
+ * Runs on a single daemon thread; bursts of events (editors often write a file several times) are
+ * collapsed into one reload after a short quiet period.
+ */
+class ConfigWatcher implements Runnable {
+
+    private static final Logger logger = LogManager.getLogger(ConfigWatcher.class);
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final Map<Path, Set<Path>> watchedFilesByDir = new HashMap<>();
+    private final Runnable onChange;
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * Constructor for ConfigWatcher.
+     * @param files The configuration files to watch
+     * @param onChange The action to run after a watched file has changed
+     */
+    ConfigWatcher(Collection<Path> files, Runnable onChange) {
+        for (Path file : files) {
+            Path absolute = file.toAbsolutePath();
+            watchedFilesByDir.computeIfAbsent(absolute.getParent(), dir -> new HashSet<>()).add(absolute.getFileName());
+        }
+        this.onChange = onChange;
+    }
+
+    /**
+     * Registers the watched directories and starts the watcher thread.
+     * @throws IOException if the watch service cannot be created or a directory cannot be registered
+     */
+    synchronized void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path dir : watchedFilesByDir.keySet()) {
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            logger.info("Watching configuration files {} in {}", watchedFilesByDir.get(dir), dir);
+        }
+        thread = new Thread(this, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the watcher thread.
+     */
+    synchronized void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close configuration watch service: {}", e.getMessage());
+            }
+            watchService = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = drain(key);
+
+                // Collapse follow-up events from the same save into one reload
+                WatchKey next;
+                while ((next = service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+
+                if (changed) {
+                    onChange.run();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            logger.debug("Configuration watcher stopped");
+        }
+    }
+
+    /**
+     * Consumes the events of a watch key and resets it.
+     * @param key The signalled watch key
+     * @return true if one of the events concerned a watched file
+     */
+    private boolean drain(WatchKey key) {
+        Path dir = (Path) key.watchable();
+        Set<Path> watchedFiles = watchedFilesByDir.getOrDefault(dir, Set.of());
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+            } else if (watchedFiles.contains((Path) event.context())) {
+                logger.info("Configuration file changed: {}", dir.resolve((Path) event.context()));
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
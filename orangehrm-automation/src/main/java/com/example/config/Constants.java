@@ -7,9 +7,9 @@ package com.example.config;
 public interface Constants {
     // URLs
     String BASE_URL = "https://opensource-demo.orangehrmlive.com/web/index.php/auth/login";
+    String APP_URL = "https://opensource-demo.orangehrmlive.com/web/index.php/";
 
     // Timeouts (in seconds)
-    int DEFAULT_TIMEOUT = 10;
     int PAGE_LOAD_TIMEOUT = 30;
     int SCRIPT_TIMEOUT = 30;
     int POLLING_INTERVAL = 500; // in milliseconds
@@ -18,6 +18,10 @@ public interface Constants {
     String SCREENSHOT_PATH = "screenshots/";
     String REPORT_PATH = "target/reports/";
     String TEST_DATA_PATH = "src/test/resources/testdata/";
+    String GENERATED_DATA_PATH = TEST_DATA_PATH + "generated/";
+    String COLUMNAR_DATA_PATH = "target/testdata/";
+    String TEST_DATA_CATALOG = "target/testdata/catalog.json";
+    String PERFORMANCE_HISTORY_PATH = "target/performance-history/";
 
     // Browser settings
     String BROWSER = "chrome";
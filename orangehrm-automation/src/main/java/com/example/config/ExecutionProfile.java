@@ -0,0 +1,113 @@
+package com.example.config;
+
+import com.example.enums.Environment;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Execution limits for the current environment.
+ * Defaults come from the {@link Environment} the configuration was resolved for and can be overridden per
+ * run with the max_sessions, default_timeout, page_load_timeout and min_navigation_interval_ms properties.
+ * Environments without a profile of their own, e.g. "uat", use the staging profile.
+ */
+public final class ExecutionProfile {
+
+    private static final Logger logger = LogManager.getLogger(ExecutionProfile.class);
+    private static final Environment FALLBACK_ENVIRONMENT = Environment.STAGING;
+
+    private static volatile ExecutionProfile current;
+
+    private final ConfigSnapshot source;
+    private final Environment environment;
+    private final int maxParallelSessions;
+    private final int defaultTimeout;
+    private final int pageLoadTimeout;
+    private final long minNavigationIntervalMillis;
+
+    private ExecutionProfile(ConfigSnapshot source) {
+        this.source = source;
+        this.environment = resolveEnvironment(source.getEnvironment());
+        this.maxParallelSessions = positive("max_sessions", source.getInt("max_sessions", environment.getMaxParallelSessions()));
+        this.defaultTimeout = positive("default_timeout", source.getInt("default_timeout", environment.getDefaultTimeout()));
+        this.pageLoadTimeout = positive("page_load_timeout", source.getInt("page_load_timeout", environment.getPageLoadTimeout()));
+        this.minNavigationIntervalMillis = Math.max(0,
+                source.getInt("min_navigation_interval_ms", (int) environment.getMinNavigationIntervalMillis()));
+    }
+
+    /**
+     * Gets the profile for the current configuration snapshot.
+     * The profile is rebuilt only when the snapshot has been replaced by a reload.
+     * @return The current execution profile
+     */
+    public static ExecutionProfile current() {
+        ConfigSnapshot snapshot = ConfigReader.getSnapshot();
+        ExecutionProfile profile = current;
+        if (profile == null || profile.source != snapshot) {
+            profile = new ExecutionProfile(snapshot);
+            current = profile;
+        }
+        return profile;
+    }
+
+    private static Environment resolveEnvironment(String name) {
+        try {
+            return Environment.fromName(name);
+        } catch (IllegalArgumentException e) {
+            logger.warn("No execution profile for environment '{}', using the {} profile", name, FALLBACK_ENVIRONMENT);
+            return FALLBACK_ENVIRONMENT;
+        }
+    }
+
+    private static int positive(String key, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("Value for " + key + " must be positive: " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Gets the environment whose profile supplies the defaults.
+     * @return The environment, {@link Environment#STAGING} for environments without a profile
+     */
+    public Environment getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Gets the maximum number of browser sessions that may be open at the same time.
+     * @return The session limit
+     */
+    public int getMaxParallelSessions() {
+        return maxParallelSessions;
+    }
+
+    /**
+     * Gets the default element wait timeout.
+     * @return The timeout in seconds
+     */
+    public int getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    /**
+     * Gets the page load timeout.
+     * @return The timeout in seconds
+     */
+    public int getPageLoadTimeout() {
+        return pageLoadTimeout;
+    }
+
+    /**
+     * Gets the minimum interval between two navigations across all sessions.
+     * @return The interval in milliseconds, 0 for no throttling
+     */
+    public long getMinNavigationIntervalMillis() {
+        return minNavigationIntervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExecutionProfile{environment=%s, maxParallelSessions=%d, defaultTimeout=%ds, pageLoadTimeout=%ds, minNavigationInterval=%dms}",
+                environment, maxParallelSessions, defaultTimeout, pageLoadTimeout, minNavigationIntervalMillis);
+    }
+}
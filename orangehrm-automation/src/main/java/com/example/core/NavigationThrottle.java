@@ -0,0 +1,49 @@
+package com.example.core;
+
+import com.example.config.ExecutionProfile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out page navigations across all test threads according to the execution profile.
+ * Against shared environments such as PRODUCTION this keeps the suite below a fixed request rate,
+ * while LOCAL runs are not throttled at all.
+ */
+public final class NavigationThrottle {
+
+    private static final Logger logger = LogManager.getLogger(NavigationThrottle.class);
+    private static long nextSlotNanos = System.nanoTime();
+
+    private NavigationThrottle() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Blocks until the calling thread may start the next navigation.
+     */
+    public static void acquire() {
+        long intervalMillis = ExecutionProfile.current().getMinNavigationIntervalMillis();
+        if (intervalMillis <= 0) {
+            return;
+        }
+
+        long waitNanos;
+        synchronized (NavigationThrottle.class) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlotNanos);
+            nextSlotNanos = slot + TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+            waitNanos = slot - now;
+        }
+
+        if (waitNanos > 0) {
+            logger.debug("Throttling navigation for {} ms", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
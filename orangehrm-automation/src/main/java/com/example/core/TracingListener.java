@@ -0,0 +1,49 @@
+package com.example.core;
+
+import com.example.utils.Tracer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * WebDriver listener that opens a "driver" span around every call made through a decorated driver,
+ * including calls on elements, navigation and options. Spans nest under the page action or wait that issued them.
+ * Only locators and URLs are recorded as attributes; typed text such as passwords never is.
+ */
+public class TracingListener implements WebDriverListener {
+
+    private final ThreadLocal<Deque<Tracer.Span>> openSpans = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        Tracer.Span span = Tracer.startSpan(method.getDeclaringClass().getSimpleName() + "." + method.getName(), "driver");
+        if (args != null && args.length == 1) {
+            if (args[0] instanceof By) {
+                span.setAttribute("locator", args[0]);
+            } else if ("get".equals(method.getName()) || "to".equals(method.getName())) {
+                span.setAttribute("url", args[0]);
+            }
+        }
+        openSpans.get().push(span);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        Tracer.Span span = openSpans.get().poll();
+        if (span != null) {
+            span.end();
+        }
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Tracer.Span span = openSpans.get().poll();
+        if (span != null) {
+            span.recordError(e.getTargetException()).end();
+        }
+    }
+}
@@ -1,25 +1,44 @@
 package com.example.core;
 
 import com.example.config.ConfigReader;
+import com.example.config.ConfigSnapshot;
 import com.example.config.Constants;
+import com.example.config.ExecutionProfile;
+import com.example.utils.ResourceTimingRecorder;
+import com.example.utils.Tracer;
+import com.example.utils.WebVitalsCollector;
 import io.github.bonigarcia.wdm.WebDriverManager as BrowserDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages WebDriver instances for browser automation.
  * This class is responsible for creating, configuring, and disposing of WebDriver instances.
+ * Each thread gets its own browser session, so parallel tests never share or overwrite a driver. Every open
+ * session holds one permit of the execution profile's session limit, released exactly once when it is quit,
+ * also if it is quit from another thread than the one that created it.
  */
 public class DriverFactory {
 
-    private static WebDriver driver;
-    private static WebDriverWait wait;
+    private static final Logger logger = LogManager.getLogger(DriverFactory.class);
+    // Caps concurrently open browser sessions at the environment's limit
+    private static final Semaphore sessionPermits = new Semaphore(ExecutionProfile.current().getMaxParallelSessions(), true);
+    private static final ThreadLocal<WebDriver> drivers = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriverWait> waits = new ThreadLocal<>();
+    private static final Set<WebDriver> openSessions = ConcurrentHashMap.newKeySet();
 
     /**
      * Private constructor to prevent instantiation
@@ -29,48 +48,113 @@ public class DriverFactory {
     }
 
     /**
-     * Gets the WebDriver instance, creating it if necessary.
+     * Gets the current thread's WebDriver instance, creating it if necessary.
      * @return The WebDriver instance
      */
     public static WebDriver getDriver() {
-        if (driver == null) {
-            String browserType = ConfigReader.getProperty("browser");
-            driver = createDriver(browserType);
-            configureDriver();
+        WebDriver driver = drivers.get();
+        if (driver != null && openSessions.contains(driver)) {
+            return driver;
         }
+        // The thread's session may have been quit from another thread
+        drivers.remove();
+        waits.remove();
+
+        acquireSessionPermit();
+        try {
+            ConfigSnapshot config = ConfigReader.getSnapshot();
+            driver = createDriver(config.getBrowser(), config.isHeadless());
+            if (Tracer.isEnabled()) {
+                // Every driver and element call becomes a span in the test's trace
+                driver = new EventFiringDecorator<WebDriver>(new TracingListener()).decorate(driver);
+            }
+            // Observe web vitals and keep all resource timings from the first navigation on
+            WebVitalsCollector.install(driver);
+            ResourceTimingRecorder.install(driver);
+            configureDriver(driver);
+        } catch (RuntimeException e) {
+            if (driver != null) {
+                driver.quit();
+            }
+            sessionPermits.release();
+            throw e;
+        }
+        openSessions.add(driver);
+        drivers.set(driver);
         return driver;
     }
 
     /**
-     * Gets a WebDriverWait instance configured with the default timeout.
+     * Gets a WebDriverWait instance for the current thread's driver, configured with the default timeout.
      * @return The WebDriverWait instance
      */
     public static WebDriverWait getWait() {
+        WebDriver driver = getDriver();
+        WebDriverWait wait = waits.get();
         if (wait == null) {
-            wait = new WebDriverWait(getDriver(), Duration.ofSeconds(Constants.DEFAULT_TIMEOUT));
+            wait = new WebDriverWait(driver, Duration.ofSeconds(ExecutionProfile.current().getDefaultTimeout()));
+            waits.set(wait);
         }
         return wait;
     }
 
     /**
-     * Quits the WebDriver instance and releases resources.
+     * Quits the current thread's WebDriver instance and releases its session permit.
      */
     public static void quitDriver() {
-        if (driver != null) {
+        quitDriver(drivers.get());
+    }
+
+    /**
+     * Quits a WebDriver instance created by this factory and releases its session permit.
+     * Use this when the session may be quit on another thread than the one that created it,
+     * e.g. in an @AfterClass method of a class whose methods run in parallel.
+     * @param driver The WebDriver instance, ignored if null or already quit
+     */
+    public static void quitDriver(WebDriver driver) {
+        if (driver == null || !openSessions.remove(driver)) {
+            return;
+        }
+        if (drivers.get() == driver) {
+            drivers.remove();
+            waits.remove();
+        }
+        try {
             driver.quit();
-            driver = null;
-            wait = null;
+        } finally {
+            sessionPermits.release();
+        }
+    }
+
+    /**
+     * Waits for a free browser session slot under the execution profile's session limit.
+     * @throws IllegalStateException if no slot becomes free within "session_wait_timeout" seconds (default 300)
+     */
+    private static void acquireSessionPermit() {
+        if (sessionPermits.tryAcquire()) {
+            return;
+        }
+        int limit = ExecutionProfile.current().getMaxParallelSessions();
+        int timeout = ConfigReader.getSnapshot().getInt("session_wait_timeout", 300);
+        logger.info("Session limit of {} reached, waiting up to {} s for a browser session to be released", limit, timeout);
+        try {
+            if (!sessionPermits.tryAcquire(timeout, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("No browser session became free within " + timeout
+                        + " s (limit " + limit + "); a test probably did not call DriverFactory.quitDriver()");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
         }
     }
 
     /**
      * Creates a WebDriver instance based on the specified browser type.
      * @param browserType The type of browser to create
+     * @param isHeadless Whether to run the browser in headless mode
      * @return The WebDriver instance
      */
-    private static WebDriver createDriver(String browserType) {
-        boolean isHeadless = Boolean.parseBoolean(ConfigReader.getProperty("headless", "false"));
-
+    private static WebDriver createDriver(String browserType, boolean isHeadless) {
         switch (browserType.toLowerCase()) {
             case "chrome":
                 BrowserDriverManager.chromedriver().setup();
@@ -91,12 +175,16 @@ public class DriverFactory {
 
     /**
      * Configures the WebDriver instance with common settings.
+     * @param driver The WebDriver instance
      */
-    private static void configureDriver() {
+    private static void configureDriver(WebDriver driver) {
+        // Read from the live profile so reloaded timeouts apply to drivers created afterwards
+        ExecutionProfile profile = ExecutionProfile.current();
         driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(Constants.DEFAULT_TIMEOUT));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(Constants.PAGE_LOAD_TIMEOUT));
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(profile.getDefaultTimeout()));
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(profile.getPageLoadTimeout()));
         driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(Constants.SCRIPT_TIMEOUT));
+        NavigationThrottle.acquire();
         driver.get(Constants.BASE_URL);
     }
 }
\ No newline at end of file
@@ -1,9 +1,65 @@
 package com.example.enums;
 
+/**
+ * Target environments with their default execution limits.
+ * Each environment binds how many browser sessions may run at once, the default element and page load
+ * timeouts, and the minimum interval between navigations, so shared environments are not hammered.
+ */
 public enum Environment {
-    LOCAL,
-    DEV,
-    QA,
-    STAGING,
-    PRODUCTION
-}
\ No newline at end of file
+    LOCAL(Runtime.getRuntime().availableProcessors(), 10, 30, 0),
+    DEV(4, 10, 30, 0),
+    QA(4, 15, 30, 100),
+    STAGING(4, 15, 30, 250),
+    PRODUCTION(2, 20, 45, 1000);
+
+    private final int maxParallelSessions;
+    private final int defaultTimeout;
+    private final int pageLoadTimeout;
+    private final long minNavigationIntervalMillis;
+
+    Environment(int maxParallelSessions, int defaultTimeout, int pageLoadTimeout, long minNavigationIntervalMillis) {
+        this.maxParallelSessions = maxParallelSessions;
+        this.defaultTimeout = defaultTimeout;
+        this.pageLoadTimeout = pageLoadTimeout;
+        this.minNavigationIntervalMillis = minNavigationIntervalMillis;
+    }
+
+    /**
+     * Resolves an environment from its configuration name, e.g. "staging".
+     * @param name The environment name, case-insensitive
+     * @return The matching Environment
+     * @throws IllegalArgumentException if the name does not match any environment
+     */
+    public static Environment fromName(String name) {
+        for (Environment environment : values()) {
+            if (environment.name().equalsIgnoreCase(name.trim())) {
+                return environment;
+            }
+        }
+        throw new IllegalArgumentException("Unknown environment: " + name);
+    }
+
+    public int getMaxParallelSessions() {
+        return maxParallelSessions;
+    }
+
+    /**
+     * Gets the default element wait timeout.
+     * @return The timeout in seconds
+     */
+    public int getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    /**
+     * Gets the page load timeout.
+     * @return The timeout in seconds
+     */
+    public int getPageLoadTimeout() {
+        return pageLoadTimeout;
+    }
+
+    public long getMinNavigationIntervalMillis() {
+        return minNavigationIntervalMillis;
+    }
+}
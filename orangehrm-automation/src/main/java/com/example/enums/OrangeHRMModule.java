@@ -0,0 +1,50 @@
+package com.example.enums;
+
+/**
+ * Route table for the OrangeHRM main menu modules.
+ * Each module knows its direct route (relative to the application base URL), its sidebar menu label,
+ * and a CSS selector that is visible once the module's landing view has rendered.
+ */
+public enum OrangeHRMModule {
+    DASHBOARD("dashboard/index", "Dashboard", ".orangehrm-dashboard-grid"),
+    ADMIN("admin/viewSystemUsers", "Admin", ".oxd-table"),
+    PIM("pim/viewEmployeeList", "PIM", ".oxd-table"),
+    LEAVE("leave/viewLeaveList", "Leave", ".oxd-table"),
+    TIME("time/viewEmployeeTimesheet", "Time", ".oxd-table"),
+    RECRUITMENT("recruitment/viewCandidates", "Recruitment", ".oxd-table"),
+    MY_INFO("pim/viewMyDetails", "My Info", ".oxd-topbar-header-breadcrumb"),
+    PERFORMANCE("performance/searchEvaluatePerformanceReview", "Performance", ".oxd-table"),
+    DIRECTORY("directory/viewDirectory", "Directory", ".oxd-topbar-header-breadcrumb"),
+    CLAIM("claim/viewAssignClaim", "Claim", ".oxd-table"),
+    BUZZ("buzz/viewBuzz", "Buzz", ".oxd-topbar-header-breadcrumb");
+
+    private final String route;
+    private final String menuLabel;
+    private final String readySelector;
+
+    OrangeHRMModule(String route, String menuLabel, String readySelector) {
+        this.route = route;
+        this.menuLabel = menuLabel;
+        this.readySelector = readySelector;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Gets the URL fragment that identifies the module once any server-side redirect has settled.
+     * @return The first path segment of the route, e.g. "admin/"
+     */
+    public String getUrlFragment() {
+        return route.substring(0, route.indexOf('/') + 1);
+    }
+
+    public String getMenuLabel() {
+        return menuLabel;
+    }
+
+    public String getReadySelector() {
+        return readySelector;
+    }
+}
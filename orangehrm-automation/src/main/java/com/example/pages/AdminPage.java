@@ -1,9 +1,15 @@
 package com.example.pages;
 
+import com.example.components.OxdAutocomplete;
+import com.example.components.OxdSelect;
+import com.example.components.OxdTable;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
+import java.util.List;
+import java.util.Map;
+
 public class AdminPage {
     private WebDriver driver;
 
@@ -173,4 +179,44 @@ public class AdminPage {
             return false;
         }
     }
+
+    /**
+     * Gets the system users table.
+     * @return The system users OxdTable
+     */
+    public OxdTable getSystemUsersTable() {
+        return new OxdTable(driver);
+    }
+
+    /**
+     * Reads every row of the system users page in a single script call.
+     * @return A list of rows, each mapping column header to cell text
+     */
+    public List<Map<String, String>> getSystemUserRows() {
+        return getSystemUsersTable().getRows();
+    }
+
+    /**
+     * Gets the User Role filter.
+     * @return The User Role OxdSelect
+     */
+    public OxdSelect getUserRoleSelect() {
+        return OxdSelect.byLabel(driver, "User Role");
+    }
+
+    /**
+     * Gets the Status filter.
+     * @return The Status OxdSelect
+     */
+    public OxdSelect getStatusSelect() {
+        return OxdSelect.byLabel(driver, "Status");
+    }
+
+    /**
+     * Gets the Employee Name filter.
+     * @return The Employee Name OxdAutocomplete
+     */
+    public OxdAutocomplete getEmployeeNameSearch() {
+        return OxdAutocomplete.byLabel(driver, "Employee Name");
+    }
 }
\ No newline at end of file
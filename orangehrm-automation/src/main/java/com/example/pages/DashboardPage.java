@@ -1,8 +1,8 @@
 package com.example.pages;
 
+import com.example.enums.OrangeHRMModule;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 
 public class DashboardPage {
 
@@ -16,20 +16,28 @@ public class DashboardPage {
         return driver.getTitle();
     }
 
+    /**
+     * Navigates to the Admin page using the configured navigation mode.
+     * @return The Admin page object
+     */
     public AdminPage navigateToAdminPage() {
-        WebElement adminLink = driver.findElement(By.xpath("//a[@href='/web/index.php/admin/viewAdminModule']"));
-        adminLink.click();
-        return new AdminPage(driver);
+        return new PageNavigator(driver).toAdmin();
     }
 
     /**
-     * Navigates to the PIM page.
+     * Navigates to the PIM page using the configured navigation mode.
      * @return The PIM page object
      */
     public PIMPage navigateToPIMPage() {
-        WebElement pimLink = driver.findElement(By.xpath("//a[@href='/web/index.php/pim/viewPimModule']"));
-        pimLink.click();
-        return new PIMPage(driver);
+        return new PageNavigator(driver).toPIM();
+    }
+
+    /**
+     * Navigates to a module through the sidebar menu, for tests where the click itself is under test.
+     * @param module The module to open
+     */
+    public void navigateByMenu(OrangeHRMModule module) {
+        new PageNavigator(driver, PageNavigator.Mode.MENU).navigateTo(module);
     }
 
     public boolean isAdminMenuPresent() {
@@ -1,7 +1,7 @@
 package com.example.pages;
 
-import com.example.config.Constants;
 import com.example.utils.JavaScriptExecutorUtil;
+import com.example.utils.Tracer;
 import com.example.utils.WaitUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -36,7 +36,7 @@ public class LoginPage {
      * @return The LoginPage instance for method chaining
      */
     public LoginPage enterUsername(String username) {
-        WebElement usernameElement = WaitUtils.waitForElementVisible(driver, usernameField, Constants.DEFAULT_TIMEOUT);
+        WebElement usernameElement = WaitUtils.waitForElementVisible(driver, usernameField, WaitUtils.defaultTimeout());
         usernameElement.clear();
         usernameElement.sendKeys(username);
         return this;
@@ -48,7 +48,7 @@ public class LoginPage {
      * @return The LoginPage instance for method chaining
      */
     public LoginPage enterPassword(String password) {
-        WebElement passwordElement = WaitUtils.waitForElementVisible(driver, passwordField, Constants.DEFAULT_TIMEOUT);
+        WebElement passwordElement = WaitUtils.waitForElementVisible(driver, passwordField, WaitUtils.defaultTimeout());
         passwordElement.clear();
         passwordElement.sendKeys(password);
         return this;
@@ -59,7 +59,7 @@ public class LoginPage {
      * @return The DashboardPage instance if login is successful
      */
     public DashboardPage clickLoginButton() {
-        WebElement loginButtonElement = WaitUtils.waitForElementClickable(driver, loginButton, Constants.DEFAULT_TIMEOUT);
+        WebElement loginButtonElement = WaitUtils.waitForElementClickable(driver, loginButton, WaitUtils.defaultTimeout());
         // Highlight the button for better visibility in reports
         JavaScriptExecutorUtil.highlightElement(driver, loginButtonElement);
         loginButtonElement.click();
@@ -73,9 +73,11 @@ public class LoginPage {
      * @return The DashboardPage instance if login is successful
      */
     public DashboardPage login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
-        return clickLoginButton();
+        return Tracer.trace("LoginPage.login", "page", () -> {
+            enterUsername(username);
+            enterPassword(password);
+            return clickLoginButton();
+        });
     }
 
     /**
@@ -83,7 +85,7 @@ public class LoginPage {
      * @return The error message text
      */
     public String getErrorMessage() {
-        WebElement errorElement = WaitUtils.waitForElementVisible(driver, errorMessage, Constants.DEFAULT_TIMEOUT);
+        WebElement errorElement = WaitUtils.waitForElementVisible(driver, errorMessage, WaitUtils.defaultTimeout());
         return errorElement.getText();
     }
 
@@ -92,14 +94,14 @@ public class LoginPage {
      * @return true if the login page is displayed, false otherwise
      */
     public boolean isLoginPageDisplayed() {
-        return WaitUtils.waitForElementVisible(driver, logoImage, Constants.DEFAULT_TIMEOUT).isDisplayed();
+        return WaitUtils.waitForElementVisible(driver, logoImage, WaitUtils.defaultTimeout()).isDisplayed();
     }
 
     /**
      * Clicks the forgot password link.
      */
     public void clickForgotPasswordLink() {
-        WebElement forgotPasswordElement = WaitUtils.waitForElementClickable(driver, forgotPasswordLink, Constants.DEFAULT_TIMEOUT);
+        WebElement forgotPasswordElement = WaitUtils.waitForElementClickable(driver, forgotPasswordLink, WaitUtils.defaultTimeout());
         forgotPasswordElement.click();
     }
 }
\ No newline at end of file
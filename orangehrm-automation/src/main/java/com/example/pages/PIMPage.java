@@ -1,10 +1,25 @@
 package com.example.pages;
 
+import com.example.components.OxdAutocomplete;
+import com.example.components.OxdSelect;
+import com.example.components.OxdTable;
+import com.example.components.OxdTableStream;
+import com.example.utils.WaitUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class PIMPage {
+    private static final By TABLE_ROWS = By.cssSelector(".oxd-table-body .oxd-table-card");
+    private static final By TABLE_LOADER = By.cssSelector(".oxd-table-loader");
+    private static final int LOADER_APPEAR_TIMEOUT = 2;
+
     private WebDriver driver;
 
     public PIMPage(WebDriver driver) {
@@ -74,5 +89,68 @@ public class PIMPage {
         return driver.findElement(By.xpath("//li[@class='oxd-breadcrumb-item']/a[text()='PIM']")).isDisplayed();
     }
 
+    /**
+     * Gets the employee list table.
+     * @return The employee list OxdTable
+     */
+    public OxdTable getEmployeeTable() {
+        return new OxdTable(driver);
+    }
+
+    /**
+     * Reads every row of the employee list page in a single script call.
+     * @return A list of rows, each mapping column header to cell text
+     */
+    public List<Map<String, String>> getEmployeeRows() {
+        return getEmployeeTable().getRows();
+    }
+
+    /**
+     * Streams the employee list across all result pages, reading each page in one script call.
+     * @return A lazy stream of employee rows, each mapping column header to cell text
+     */
+    public Stream<Map<String, String>> streamEmployeeRows() {
+        return new OxdTableStream(driver).rows();
+    }
+
+    /**
+     * Searches the employee list by (partial) employee name and waits for the results.
+     * The loader may not have appeared yet right after the click, so the wait first makes sure the previous
+     * results are gone: the old first row has gone stale or, for an empty list, the loader has shown up.
+     * @param name The employee name or part of it
+     * @return The PIMPage instance for method chaining
+     */
+    public PIMPage searchByEmployeeName(String name) {
+        getEmployeeNameSearch().type(name);
+        List<WebElement> previousRows = driver.findElements(TABLE_ROWS);
+        WaitUtils.waitForElementClickable(driver, By.cssSelector("button[type='submit']"), WaitUtils.defaultTimeout()).click();
+        if (!previousRows.isEmpty()) {
+            WaitUtils.waitForCondition(driver, ExpectedConditions.stalenessOf(previousRows.get(0)), WaitUtils.defaultTimeout());
+        } else {
+            try {
+                WaitUtils.waitForElementPresent(driver, TABLE_LOADER, LOADER_APPEAR_TIMEOUT);
+            } catch (TimeoutException e) {
+                // A fast response can show and remove the loader between two polls
+            }
+        }
+        WaitUtils.waitForElementInvisible(driver, TABLE_LOADER, WaitUtils.defaultTimeout());
+        return this;
+    }
+
+    /**
+     * Gets the Employee Name search field.
+     * @return The Employee Name OxdAutocomplete
+     */
+    public OxdAutocomplete getEmployeeNameSearch() {
+        return OxdAutocomplete.byLabel(driver, "Employee Name");
+    }
+
+    /**
+     * Gets the Employment Status filter.
+     * @return The Employment Status OxdSelect
+     */
+    public OxdSelect getEmploymentStatusSelect() {
+        return OxdSelect.byLabel(driver, "Employment Status");
+    }
 
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.example.pages;
+
+import com.example.config.ConfigReader;
+import com.example.config.Constants;
+import com.example.core.NavigationThrottle;
+import com.example.enums.OrangeHRMModule;
+import com.example.utils.RouteChangeTimer;
+import com.example.utils.Tracer;
+import com.example.utils.WaitUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.function.Function;
+
+/**
+ * Navigates between OrangeHRM modules and returns the target page object once it is ready.
+ * By default modules are opened directly by URL, which skips the sidebar click and the extra
+ * client-side route transition. Menu navigation is kept for tests where the click itself is under test.
+ */
+public class PageNavigator {
+
+    private static final Logger logger = LogManager.getLogger(PageNavigator.class);
+    private static final By loadingSpinner = By.cssSelector(".oxd-loading-spinner");
+    private static final String LOGIN_ROUTE = "/auth/login";
+
+    /**
+     * How a module is reached.
+     */
+    public enum Mode {
+        /** Open the module route directly with the current session. */
+        URL,
+        /** Click the module entry in the sidebar menu. */
+        MENU
+    }
+
+    private final WebDriver driver;
+    private final Mode mode;
+
+    /**
+     * Constructor for the PageNavigator using the configured navigation mode.
+     * The mode is read from the "navigation_mode" property and defaults to URL.
+     * @param driver The WebDriver instance
+     */
+    public PageNavigator(WebDriver driver) {
+        this(driver, Mode.valueOf(ConfigReader.getProperty("navigation_mode", "url").trim().toUpperCase()));
+    }
+
+    /**
+     * Constructor for the PageNavigator with an explicit navigation mode.
+     * @param driver The WebDriver instance
+     * @param mode The navigation mode
+     */
+    public PageNavigator(WebDriver driver, Mode mode) {
+        this.driver = driver;
+        this.mode = mode;
+    }
+
+    /**
+     * Gets the navigation mode used by this navigator.
+     * @return The navigation mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Navigates to the Admin module.
+     * @return The AdminPage instance
+     */
+    public AdminPage toAdmin() {
+        return navigateTo(OrangeHRMModule.ADMIN, AdminPage::new);
+    }
+
+    /**
+     * Navigates to the PIM module.
+     * @return The PIMPage instance
+     */
+    public PIMPage toPIM() {
+        return navigateTo(OrangeHRMModule.PIM, PIMPage::new);
+    }
+
+    /**
+     * Navigates to the Dashboard.
+     * @return The DashboardPage instance
+     */
+    public DashboardPage toDashboard() {
+        return navigateTo(OrangeHRMModule.DASHBOARD, DashboardPage::new);
+    }
+
+    /**
+     * Navigates to a module and waits until it is ready.
+     * @param module The module to open
+     */
+    public void navigateTo(OrangeHRMModule module) {
+        navigateTo(module, webDriver -> null);
+    }
+
+    /**
+     * Navigates to a module, waits until it is ready and creates its page object.
+     * @param module The module to open
+     * @param pageFactory Creates the page object for the module
+     * @param <T> The page object type
+     * @return The page object created by the factory
+     */
+    public <T> T navigateTo(OrangeHRMModule module, Function<WebDriver, T> pageFactory) {
+        logger.debug("Navigating to {} by {}", module, mode);
+        NavigationThrottle.acquire();
+        Tracer.Span span = Tracer.startSpan("PageNavigator.navigateTo", "page")
+                .setAttribute("module", module)
+                .setAttribute("mode", mode);
+        return Tracer.trace(span, () -> {
+            if (mode == Mode.MENU) {
+                clickMenuItem(module);
+            } else {
+                openRoute(module);
+            }
+            waitUntilReady(module);
+            return pageFactory.apply(driver);
+        });
+    }
+
+    /**
+     * Opens the module route by URL, logging in first if the session is not authenticated.
+     * @param module The module to open
+     */
+    private void openRoute(OrangeHRMModule module) {
+        String url = ConfigReader.getProperty("app_url", Constants.APP_URL) + module.getRoute();
+        driver.get(url);
+
+        if (driver.getCurrentUrl().contains(LOGIN_ROUTE)) {
+            logger.info("No authenticated session, logging in before opening {}", module);
+            new LoginPage(driver).login(
+                    ConfigReader.getProperty("username", Constants.DEFAULT_USERNAME),
+                    ConfigReader.getProperty("password", Constants.DEFAULT_PASSWORD));
+            WaitUtils.waitForUrlContains(driver, "/dashboard", WaitUtils.defaultTimeout());
+            driver.get(url);
+        }
+    }
+
+    /**
+     * Clicks the module entry in the sidebar menu and records the click-to-render time of the route change.
+     * @param module The module to open
+     */
+    private void clickMenuItem(OrangeHRMModule module) {
+        By menuItem = By.xpath("//a[contains(@class,'oxd-main-menu-item')][.//span[text()='" + module.getMenuLabel() + "']]");
+        WebElement link = WaitUtils.waitForElementClickable(driver, menuItem, WaitUtils.defaultTimeout());
+        // Client-side transitions are invisible to Navigation Timing, so time the route change itself
+        RouteChangeTimer routeChange = RouteChangeTimer.begin(driver, module.getReadySelector());
+        link.click();
+        routeChange.end(module.getRoute(), WaitUtils.defaultTimeout());
+    }
+
+    /**
+     * Waits until the module URL is active, its landing view is visible and no loading spinner remains.
+     * @param module The module being opened
+     */
+    private void waitUntilReady(OrangeHRMModule module) {
+        int timeout = WaitUtils.defaultTimeout();
+        WaitUtils.waitForUrlContains(driver, module.getUrlFragment(), timeout);
+        WaitUtils.waitForElementVisible(driver, By.cssSelector(module.getReadySelector()), timeout);
+        WaitUtils.waitForElementInvisible(driver, loadingSpinner, timeout);
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.utils;
+
+import com.example.config.Constants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only view of a binary columnar fixture written by {@link ColumnarFixtureWriter}.
+ * The file is memory-mapped and values are located through per-column offset tables, so opening a fixture
+ * costs a header read regardless of its size and a value is only decoded when it is requested.
+ * All reads use absolute positions on the shared buffer, so one instance can serve several threads.
+ */
+public final class ColumnarFixture implements Iterable<String[]> {
+
+    private static final Logger logger = LogManager.getLogger(ColumnarFixture.class);
+    private static final String EXTENSION = ".ohcf";
+
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int rowCount;
+    private final String[] columns;
+    private final int[] offsetsPositions;
+    private final int[] dataPositions;
+
+    private ColumnarFixture(Path file, ByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != ColumnarFixtureWriter.MAGIC) {
+            throw new IllegalArgumentException("Not a columnar fixture: " + file);
+        }
+        if (buffer.getInt(4) != ColumnarFixtureWriter.VERSION) {
+            throw new IllegalArgumentException("Unsupported columnar fixture version " + buffer.getInt(4) + ": " + file);
+        }
+        this.rowCount = buffer.getInt(8);
+        int columnCount = buffer.getInt(12);
+        this.columns = new String[columnCount];
+        this.offsetsPositions = new int[columnCount];
+        this.dataPositions = new int[columnCount];
+
+        int position = 16;
+        for (int i = 0; i < columnCount; i++) {
+            int length = buffer.getInt(position);
+            columns[i] = decode(position + 4, length);
+            position += 4 + length;
+        }
+        for (int i = 0; i < columnCount; i++) {
+            offsetsPositions[i] = buffer.getInt(position);
+            dataPositions[i] = buffer.getInt(position + 4);
+            position += 8;
+        }
+    }
+
+    /**
+     * Opens a columnar fixture file.
+     * @param file The columnar file
+     * @return The fixture
+     */
+    public static ColumnarFixture open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ColumnarFixture(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            logger.error("Error opening columnar fixture: {}", file, e);
+            throw new UncheckedIOException("Error opening columnar fixture: " + file, e);
+        }
+    }
+
+    /**
+     * Loads a CSV file from the test data directory in columnar form.
+     * The file is converted on first use and again whenever the CSV file is newer than its columnar copy.
+     * @param fileName The name of the CSV file (without path)
+     * @return The fixture
+     */
+    public static ColumnarFixture loadCsv(String fileName) {
+        Path source = Paths.get(Constants.TEST_DATA_PATH, fileName);
+        Path target = Paths.get(Constants.COLUMNAR_DATA_PATH, fileName + EXTENSION);
+        if (isStale(source, target)) {
+            ColumnarFixtureWriter.convertCsv(source, target);
+        }
+        return open(target);
+    }
+
+    /**
+     * Loads an array of JSON objects from the test data directory in columnar form.
+     * The array is converted on first use and again whenever the JSON file is newer than its columnar copy.
+     * @param fileName The name of the JSON file (without path)
+     * @param arrayField The name of the top-level field holding the array, or null if the root is an array
+     * @return The fixture
+     */
+    public static ColumnarFixture loadJson(String fileName, String arrayField) {
+        Path source = Paths.get(Constants.TEST_DATA_PATH, fileName);
+        String suffix = arrayField != null ? "." + arrayField : "";
+        Path target = Paths.get(Constants.COLUMNAR_DATA_PATH, fileName + suffix + EXTENSION);
+        if (isStale(source, target)) {
+            ColumnarFixtureWriter.convertJson(fileName, arrayField, target);
+        }
+        return open(target);
+    }
+
+    /**
+     * Gets the number of rows.
+     * @return The row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Gets the column names.
+     * @return A copy of the column names
+     */
+    public String[] getColumns() {
+        return columns.clone();
+    }
+
+    /**
+     * Gets the index of a column.
+     * @param name The column name
+     * @return The column index
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No column '" + name + "' in " + file);
+    }
+
+    /**
+     * Gets the raw UTF-8 bytes of a value without copying them.
+     * @param row The zero-based row index
+     * @param column The zero-based column index
+     * @return A read-only buffer over the value bytes
+     */
+    public ByteBuffer getBytes(int row, int column) {
+        int start = valueStart(row, column);
+        return buffer.slice(start, valueEnd(row, column) - start).asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets a value as text.
+     * @param row The zero-based row index
+     * @param column The zero-based column index
+     * @return The value
+     */
+    public String getString(int row, int column) {
+        int start = valueStart(row, column);
+        return decode(start, valueEnd(row, column) - start);
+    }
+
+    /**
+     * Gets a value as text.
+     * @param row The zero-based row index
+     * @param column The column name
+     * @return The value
+     */
+    public String getString(int row, String column) {
+        return getString(row, indexOf(column));
+    }
+
+    /**
+     * Gets all values of a row.
+     * @param row The zero-based row index
+     * @return The row values, in column order
+     */
+    public String[] getRow(int row) {
+        String[] values = new String[columns.length];
+        for (int column = 0; column < columns.length; column++) {
+            values[column] = getString(row, column);
+        }
+        return values;
+    }
+
+    @Override
+    public Iterator<String[]> iterator() {
+        return iterator(0, 1);
+    }
+
+    /**
+     * Iterates over every step-th row starting at a given row, e.g. the rows of one shard.
+     * Rows in between are skipped by index and never decoded.
+     * @param first The zero-based index of the first row
+     * @param step The distance between returned rows, at least 1
+     * @return An iterator over the rows
+     */
+    public Iterator<String[]> iterator(int first, int step) {
+        if (first < 0 || step < 1) {
+            throw new IllegalArgumentException("Invalid row selection: first " + first + ", step " + step);
+        }
+        return new Iterator<String[]>() {
+            private long row = first;
+
+            @Override
+            public boolean hasNext() {
+                return row < rowCount;
+            }
+
+            @Override
+            public String[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more rows in " + file);
+                }
+                String[] values = getRow((int) row);
+                row += step;
+                return values;
+            }
+        };
+    }
+
+    private int valueStart(int row, int column) {
+        checkIndex(row, column);
+        return dataPositions[column] + buffer.getInt(offsetsPositions[column] + 4 * row);
+    }
+
+    private int valueEnd(int row, int column) {
+        return dataPositions[column] + buffer.getInt(offsetsPositions[column] + 4 * (row + 1));
+    }
+
+    private void checkIndex(int row, int column) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range [0, " + rowCount + ") in " + file);
+        }
+        if (column < 0 || column >= columns.length) {
+            throw new IndexOutOfBoundsException("Column " + column + " out of range [0, " + columns.length + ") in " + file);
+        }
+    }
+
+    private String decode(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isStale(Path source, Path target) {
+        try {
+            return !Files.exists(target)
+                    || Files.getLastModifiedTime(source).compareTo(Files.getLastModifiedTime(target)) > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error checking test data file: " + source, e);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts CSV and JSON test data into the binary columnar format read by {@link ColumnarFixture}.
+ *
+ * <p>Layout (big-endian):</p>
+ * <pre>
+ * int magic "OHCF", int version, int rowCount, int columnCount
+ * columnCount x (int nameLength, UTF-8 name)
+ * columnCount x (int offsetsPosition, int dataPosition)
+ * per column: (rowCount + 1) x int end offsets into the column data, then the UTF-8 bytes of all values
+ * </pre>
+ * Values are stored as text, exactly as a data provider would receive them from the source file.
+ * While converting, each column's values and end offsets are spilled to temporary files next to the target,
+ * so memory use does not grow with the size of the data.
+ */
+public class ColumnarFixtureWriter {
+
+    private static final Logger logger = LogManager.getLogger(ColumnarFixtureWriter.class);
+
+    static final int MAGIC = 0x4F484346; // "OHCF"
+    static final int VERSION = 1;
+    private static final int SPILL_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * Converts a comma-separated CSV file. The header row provides the column names.
+     * @param csvFile The CSV file to convert
+     * @param target The columnar file to write
+     * @return The path of the written file
+     */
+    public static Path convertCsv(Path csvFile, Path target) {
+        logger.info("Converting CSV data {} to columnar format", csvFile);
+        List<ColumnBuilder> columns = new ArrayList<>();
+        try (CsvReader reader = CsvReader.open(csvFile, ',')) {
+            if (!reader.hasNext()) {
+                throw new IllegalArgumentException("CSV file has no header row: " + csvFile);
+            }
+            Path directory = createDirectory(target);
+            for (String name : reader.next()) {
+                columns.add(new ColumnBuilder(name, directory));
+            }
+            int rowCount = 0;
+            while (reader.hasNext()) {
+                String[] row = reader.next();
+                for (int i = 0; i < columns.size(); i++) {
+                    columns.get(i).add(i < row.length ? row[i] : "");
+                }
+                rowCount++;
+            }
+            return write(columns, rowCount, target);
+        } catch (IOException e) {
+            logger.error("Error converting CSV data: {}", csvFile, e);
+            throw new UncheckedIOException("Error converting CSV data: " + csvFile, e);
+        } finally {
+            closeAll(columns);
+        }
+    }
+
+    /**
+     * Converts an array of JSON objects. Columns are the union of the object keys in first-seen order;
+     * missing keys become empty values and nested values are stored as JSON text.
+     * @param fileName The name of the JSON file (without path)
+     * @param arrayField The name of the top-level field holding the array, or null if the root is an array
+     * @param target The columnar file to write
+     * @return The path of the written file
+     */
+    public static Path convertJson(String fileName, String arrayField, Path target) {
+        logger.info("Converting JSON data {} ({}) to columnar format", fileName, arrayField);
+        Map<String, ColumnBuilder> columns = new LinkedHashMap<>();
+        try {
+            Path directory = createDirectory(target);
+            int rowCount = 0;
+            Iterator<JsonNode> elements = FixtureCache.streamArray(fileName, arrayField);
+            while (elements.hasNext()) {
+                JsonNode element = elements.next();
+                Iterator<Map.Entry<String, JsonNode>> fields = element.fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    ColumnBuilder column = columns.get(field.getKey());
+                    if (column == null) {
+                        column = new ColumnBuilder(field.getKey(), directory);
+                        columns.put(field.getKey(), column);
+                    }
+                    column.padTo(rowCount);
+                    JsonNode value = field.getValue();
+                    column.add(value.isNull() ? "" : value.isValueNode() ? value.asText() : value.toString());
+                }
+                rowCount++;
+            }
+            return write(new ArrayList<>(columns.values()), rowCount, target);
+        } catch (IOException e) {
+            logger.error("Error converting JSON data: {}", fileName, e);
+            throw new UncheckedIOException("Error converting JSON data: " + fileName, e);
+        } finally {
+            closeAll(columns.values());
+        }
+    }
+
+    /**
+     * Writes the columns to a temporary file and moves it into place, so concurrent readers never see a partial file.
+     * @param columns The column contents
+     * @param rowCount The number of rows
+     * @param target The columnar file to write
+     * @return The path of the written file
+     * @throws IOException if the file cannot be written
+     */
+    private static Path write(List<ColumnBuilder> columns, int rowCount, Path target) throws IOException {
+        for (ColumnBuilder column : columns) {
+            column.padTo(rowCount);
+            column.finish();
+        }
+        Path temp = Files.createTempFile(createDirectory(target), target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(rowCount);
+                out.writeInt(columns.size());
+
+                long position = 16;
+                List<byte[]> names = new ArrayList<>();
+                for (ColumnBuilder column : columns) {
+                    byte[] name = column.name.getBytes(StandardCharsets.UTF_8);
+                    names.add(name);
+                    position += 4 + name.length;
+                }
+                position += 8L * columns.size();
+
+                for (byte[] name : names) {
+                    out.writeInt(name.length);
+                    out.write(name);
+                }
+                for (ColumnBuilder column : columns) {
+                    long offsetsPosition = position;
+                    long dataPosition = offsetsPosition + 4L * (rowCount + 1);
+                    position = dataPosition + column.dataSize;
+                    if (position > Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("Columnar fixture exceeds 2 GB: " + target);
+                    }
+                    out.writeInt((int) offsetsPosition);
+                    out.writeInt((int) dataPosition);
+                }
+                for (ColumnBuilder column : columns) {
+                    out.writeInt(0);
+                    Files.copy(column.endsFile, out);
+                    Files.copy(column.dataFile, out);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        logger.info("Wrote {} rows x {} columns to {}", rowCount, columns.size(), target);
+        return target;
+    }
+
+    private static Path createDirectory(Path target) throws IOException {
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        return parent;
+    }
+
+    private static void closeAll(Iterable<ColumnBuilder> columns) {
+        for (ColumnBuilder column : columns) {
+            try {
+                column.close();
+            } catch (IOException e) {
+                logger.warn("Failed to delete columnar spill files of {}: {}", column.name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Spills the values of one column to two temporary files: the UTF-8 bytes of the values and their end offsets.
+     */
+    private static class ColumnBuilder implements Closeable {
+        private final String name;
+        private final Path dataFile;
+        private final Path endsFile;
+        private final DataOutputStream data;
+        private final DataOutputStream ends;
+        private long dataSize;
+        private int size;
+
+        ColumnBuilder(String name, Path directory) throws IOException {
+            this.name = name;
+            this.dataFile = Files.createTempFile(directory, "column", ".data.tmp");
+            this.endsFile = Files.createTempFile(directory, "column", ".ends.tmp");
+            this.data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(dataFile), SPILL_BUFFER_SIZE));
+            this.ends = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(endsFile), SPILL_BUFFER_SIZE));
+        }
+
+        void add(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            data.write(bytes);
+            dataSize += bytes.length;
+            if (dataSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Column '" + name + "' exceeds 2 GB");
+            }
+            ends.writeInt((int) dataSize);
+            size++;
+        }
+
+        void padTo(int rows) throws IOException {
+            while (size < rows) {
+                add("");
+            }
+        }
+
+        void finish() throws IOException {
+            data.close();
+            ends.close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            Files.deleteIfExists(dataFile);
+            Files.deleteIfExists(endsFile);
+        }
+    }
+}
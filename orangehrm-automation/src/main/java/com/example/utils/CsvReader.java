@@ -0,0 +1,196 @@
+package com.example.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming CSV parser that reads one row at a time.
+ * Supports RFC 4180 quoting: quoted fields may contain delimiters, line breaks and doubled quotes ("").
+ * The parser scans a reusable character buffer instead of splitting lines with a regular expression,
+ * so memory use is bounded by the longest row, not by the file size.
+ * The underlying reader is closed automatically once the last row has been read.
+ */
+public class CsvReader implements Iterator<String[]>, Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int END = -1;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder(64);
+    private final List<String> row = new ArrayList<>();
+    private int position;
+    private int limit;
+    private long rowNumber;
+    private String[] nextRow;
+    private boolean closed;
+
+    /**
+     * Constructor for the CsvReader.
+     * @param reader The source of CSV text
+     * @param delimiter The field delimiter
+     */
+    public CsvReader(Reader reader, char delimiter) {
+        if (delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Invalid CSV delimiter: " + delimiter);
+        }
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Opens a UTF-8 CSV file for streaming.
+     * @param path The path of the CSV file
+     * @param delimiter The field delimiter
+     * @return The CsvReader instance
+     * @throws IOException if the file cannot be opened
+     */
+    public static CsvReader open(Path path, char delimiter) throws IOException {
+        return new CsvReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), delimiter);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && !closed) {
+            try {
+                nextRow = readRow();
+                if (nextRow == null) {
+                    close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading CSV data at row " + (rowNumber + 1), e);
+            }
+        }
+        return nextRow != null;
+    }
+
+    @Override
+    public String[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more CSV rows");
+        }
+        String[] result = nextRow;
+        nextRow = null;
+        return result;
+    }
+
+    /**
+     * Gets the number of rows read so far.
+     * @return The row count
+     */
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            reader.close();
+        }
+    }
+
+    /**
+     * Parses the next non-blank row.
+     * @return The fields of the row, or null at the end of the input
+     * @throws IOException if reading fails
+     */
+    private String[] readRow() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == END) {
+                return null;
+            }
+            if (rowNumber == 0 && c == '\uFEFF') {
+                // Skip the UTF-8 byte order mark
+                c = read();
+            }
+
+            row.clear();
+            field.setLength(0);
+            boolean inQuotes = false;
+            boolean sawQuote = false;
+
+            while (true) {
+                if (inQuotes) {
+                    if (c == END) {
+                        throw new IllegalArgumentException("Unterminated quoted field in CSV row " + (rowNumber + 1));
+                    }
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            position++;
+                            field.append('"');
+                        } else {
+                            inQuotes = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == delimiter) {
+                    row.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == END) {
+                    break;
+                } else if (c == '\r') {
+                    if (peek() == '\n') {
+                        position++;
+                    }
+                    break;
+                } else if (c == '"' && field.length() == 0) {
+                    inQuotes = true;
+                    sawQuote = true;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+
+            // Skip blank lines
+            if (row.isEmpty() && field.length() == 0 && !sawQuote) {
+                if (c == END) {
+                    return null;
+                }
+                continue;
+            }
+
+            row.add(field.toString());
+            rowNumber++;
+            return row.toArray(new String[0]);
+        }
+    }
+
+    private int read() throws IOException {
+        if (position >= limit && !fill()) {
+            return END;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position >= limit && !fill()) {
+            return END;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit <= 0) {
+            limit = 0;
+            return false;
+        }
+        return true;
+    }
+}
@@ -1,15 +1,19 @@
 package com.example.utils;
 
 import com.example.config.Constants;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
@@ -17,6 +21,10 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Utility class for handling test data.
@@ -25,6 +33,8 @@ import java.util.Map;
 public class DataUtils {
 
     private static final Logger logger = LogManager.getLogger(DataUtils.class);
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
     /**
      * Reads data from a CSV file.
@@ -32,49 +42,81 @@ public class DataUtils {
      * @return A list of string arrays, each representing a row in the CSV
      */
     public static List<String[]> readDataFromCsv(String fileName) {
-        String filePath = Constants.TEST_DATA_PATH + fileName;
-        List<String[]> data = new ArrayList<>();
-
-        logger.info("Reading CSV data from: {}", filePath);
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] values = line.split(","); // Default delimiter is comma
-                data.add(values);
-            }
-            logger.info("Read {} rows from CSV file", data.size());
-        } catch (IOException e) {
-            logger.error("Error reading data from CSV file: {}", filePath, e);
-            throw new RuntimeException("Error reading data from CSV file: " + filePath, e);
-        }
-        return data;
+        return readDataFromCsv(fileName, ",");
     }
 
     /**
      * Reads data from a CSV file with a custom delimiter.
+     * Prefer {@link #streamCsv(String, char)} for large files, which does not hold all rows in memory.
      * @param fileName The name of the CSV file (without path)
-     * @param delimiter The delimiter used in the CSV file
+     * @param delimiter The single-character delimiter used in the CSV file
      * @return A list of string arrays, each representing a row in the CSV
      */
     public static List<String[]> readDataFromCsv(String fileName, String delimiter) {
+        if (delimiter.length() != 1) {
+            throw new IllegalArgumentException("CSV delimiter must be a single character: " + delimiter);
+        }
         String filePath = Constants.TEST_DATA_PATH + fileName;
         List<String[]> data = new ArrayList<>();
 
         logger.info("Reading CSV data from: {} with delimiter: {}", filePath, delimiter);
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] values = line.split(delimiter);
-                data.add(values);
-            }
+        try (CsvReader reader = CsvReader.open(Paths.get(filePath), delimiter.charAt(0))) {
+            reader.forEachRemaining(data::add);
             logger.info("Read {} rows from CSV file", data.size());
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             logger.error("Error reading data from CSV file: {}", filePath, e);
             throw new RuntimeException("Error reading data from CSV file: " + filePath, e);
         }
         return data;
     }
 
+    /**
+     * Opens a streaming reader over a comma-separated CSV file.
+     * Rows are parsed on demand and the file is closed once the last row has been read.
+     * @param fileName The name of the CSV file (without path)
+     * @return A CsvReader over the file
+     */
+    public static CsvReader openCsv(String fileName) {
+        return openCsv(fileName, ',');
+    }
+
+    /**
+     * Opens a streaming reader over a CSV file.
+     * Rows are parsed on demand and the file is closed once the last row has been read.
+     * @param fileName The name of the CSV file (without path)
+     * @param delimiter The delimiter used in the CSV file
+     * @return A CsvReader over the file
+     */
+    public static CsvReader openCsv(String fileName, char delimiter) {
+        String filePath = Constants.TEST_DATA_PATH + fileName;
+        logger.info("Streaming CSV data from: {}", filePath);
+        try {
+            return CsvReader.open(Paths.get(filePath), delimiter);
+        } catch (IOException e) {
+            logger.error("Error opening CSV file: {}", filePath, e);
+            throw new RuntimeException("Error opening CSV file: " + filePath, e);
+        }
+    }
+
+    /**
+     * Streams the rows of a CSV file lazily. Closing the stream closes the file.
+     * @param fileName The name of the CSV file (without path)
+     * @param delimiter The delimiter used in the CSV file
+     * @return A lazy stream of rows
+     */
+    public static Stream<String[]> streamCsv(String fileName, char delimiter) {
+        CsvReader reader = openCsv(fileName, delimiter);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(reader, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        logger.warn("Failed to close CSV file {}: {}", fileName, e.getMessage());
+                    }
+                });
+    }
+
     /**
      * Reads data from a JSON file.
      * @param fileName The name of the JSON file (without path)
@@ -111,11 +153,87 @@ public class DataUtils {
         }
     }
 
+    /**
+     * Reads a JSON file directly into a Map of plain Java values (Map, List, String, Number, Boolean).
+     * Replaces reading a JSONObject and converting it with {@link #jsonObjectToMap(JSONObject)}.
+     * @param fileName The name of the JSON file (without path)
+     * @return A Map representation of the JSON object
+     */
+    public static Map<String, Object> readJsonAsMap(String fileName) {
+        return readJson(fileName, new TypeReference<Map<String, Object>>() { });
+    }
+
+    /**
+     * Reads a JSON file and binds it directly to a type.
+     * @param fileName The name of the JSON file (without path)
+     * @param type The type the file content is bound to
+     * @param <T> The bound type
+     * @return The bound value
+     */
+    public static <T> T readJson(String fileName, Class<T> type) {
+        return readJson(fileName, mapper.constructType(type));
+    }
+
+    /**
+     * Reads a JSON file and binds it directly to a generic type.
+     * @param fileName The name of the JSON file (without path)
+     * @param type The type the file content is bound to
+     * @param <T> The bound type
+     * @return The bound value
+     */
+    public static <T> T readJson(String fileName, TypeReference<T> type) {
+        return readJson(fileName, mapper.getTypeFactory().constructType(type));
+    }
+
+    /**
+     * Reads the records of an array in a JSON file, binding each element as it is parsed.
+     * @param fileName The name of the JSON file (without path)
+     * @param arrayField The name of the top-level field holding the array, or null if the root is an array
+     * @param type The record type
+     * @param <T> The record type
+     * @return The records, in file order
+     */
+    public static <T> List<T> readJsonRecords(String fileName, String arrayField, Class<T> type) {
+        List<T> records = new ArrayList<>();
+        streamJsonRecords(fileName, arrayField, type).forEachRemaining(records::add);
+        logger.info("Read {} {} records from {}", records.size(), type.getSimpleName(), fileName);
+        return records;
+    }
+
+    /**
+     * Streams the records of an array in a JSON file lazily, binding each element as it is parsed.
+     * Only the record being returned is held in memory, so arbitrarily large files can be read.
+     * @param fileName The name of the JSON file (without path)
+     * @param arrayField The name of the top-level field holding the array, or null if the root is an array
+     * @param type The record type
+     * @param <T> The record type
+     * @return An iterator over the records
+     */
+    public static <T> Iterator<T> streamJsonRecords(String fileName, String arrayField, Class<T> type) {
+        logger.info("Streaming {} records from: {}{}", type.getSimpleName(), Constants.TEST_DATA_PATH, fileName);
+        return FixtureCache.streamArray(fileName, arrayField, type);
+    }
+
+    private static <T> T readJson(String fileName, JavaType type) {
+        String filePath = Constants.TEST_DATA_PATH + fileName;
+
+        logger.info("Reading JSON data from: {}", filePath);
+        try (InputStream input = FixtureCache.openMapped(Paths.get(filePath))) {
+            return mapper.readValue(input, type);
+        } catch (IOException e) {
+            logger.error("Error reading data from JSON file: {}", filePath, e);
+            throw new RuntimeException("Error reading data from JSON file: " + filePath, e);
+        }
+    }
+
     /**
      * Converts a JSONObject to a Map.
      * @param jsonObject The JSONObject to convert
      * @return A Map representation of the JSONObject
+     * @deprecated Copies the whole tree a second time; use {@link #readJsonAsMap(String)} or
+     *             {@link #readJsonRecords(String, String, Class)} to bind the file directly
      */
+    @Deprecated
     public static Map<String, Object> jsonObjectToMap(JSONObject jsonObject) {
         Map<String, Object> map = new HashMap<>();
         Iterator<String> keys = jsonObject.keys();
@@ -141,7 +259,10 @@ public class DataUtils {
      * Converts a JSONArray to a List.
      * @param jsonArray The JSONArray to convert
      * @return A List representation of the JSONArray
+     * @deprecated Copies the whole tree a second time; use {@link #readJsonRecords(String, String, Class)}
+     *             to bind the file directly
      */
+    @Deprecated
     public static List<Object> jsonArrayToList(JSONArray jsonArray) {
         List<Object> list = new ArrayList<>();
 
@@ -182,4 +303,18 @@ public class DataUtils {
 
         return fileNames;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the test data files carrying a tag, including files in sub-directories.
+     * The catalog is refreshed first, so files written during the run are found; unchanged files are not read again.
+     * @param tag The tag, e.g. "login", "csv" or "generated"
+     * @return A list of file names relative to the test data directory
+     */
+    public static List<String> getTestDataFiles(String tag) {
+        List<String> fileNames = new ArrayList<>();
+        for (TestDataCatalog.Entry entry : TestDataCatalog.get().refresh().findByTag(tag)) {
+            fileNames.add(entry.getName());
+        }
+        return fileNames;
+    }
+}
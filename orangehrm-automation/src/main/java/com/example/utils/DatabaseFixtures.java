@@ -0,0 +1,252 @@
+package com.example.utils;
+
+import com.example.config.ConfigReader;
+import com.example.config.Constants;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Test-data fixtures stored in a relational database (PostgreSQL in CI, any JDBC database locally).
+ * Tables are seeded with batched prepared-statement inserts and read back through server-side cursors,
+ * so data-driven tests can page through large data sets without loading a file into memory.
+ * Every fixture table has a {@code row_no} column that keeps rows in seed order.
+ */
+public class DatabaseFixtures {
+
+    private static final Logger logger = LogManager.getLogger(DatabaseFixtures.class);
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final int BATCH_SIZE = 1000;
+
+    private final DbConnectionPool pool;
+    private final int fetchSize;
+
+    /**
+     * Constructor for the DatabaseFixtures using the configured pool and "db_fetch_size" (default 500).
+     */
+    public DatabaseFixtures() {
+        this(DbConnectionPool.getInstance(), ConfigReader.getSnapshot().getInt("db_fetch_size", 500, 1));
+    }
+
+    /**
+     * Constructor for the DatabaseFixtures.
+     * @param pool The connection pool
+     * @param fetchSize The number of rows fetched per cursor round trip
+     */
+    public DatabaseFixtures(DbConnectionPool pool, int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be at least 1: " + fetchSize);
+        }
+        this.pool = pool;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Recreates a fixture table with text columns and fills it from a row source.
+     * @param table The table name
+     * @param columns The column names
+     * @param rows The rows to insert; values are stored as text
+     * @return The number of rows inserted
+     */
+    public long seed(String table, String[] columns, Iterator<? extends Object[]> rows) {
+        checkIdentifier(table);
+        Arrays.stream(columns).forEach(DatabaseFixtures::checkIdentifier);
+        String columnList = String.join(", ", columns);
+        String placeholders = Arrays.stream(columns).map(column -> "?").collect(Collectors.joining(", "));
+
+        long start = System.nanoTime();
+        long count = 0;
+        try (DbConnectionPool.Lease lease = pool.acquire()) {
+            Connection connection = lease.getConnection();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+                statement.execute("CREATE TABLE " + table + " (row_no BIGINT PRIMARY KEY, "
+                        + Arrays.stream(columns).map(column -> column + " TEXT").collect(Collectors.joining(", ")) + ")");
+            }
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO " + table + " (row_no, " + columnList + ") VALUES (?, " + placeholders + ")")) {
+                while (rows.hasNext()) {
+                    Object[] row = rows.next();
+                    insert.setLong(1, count);
+                    for (int i = 0; i < columns.length; i++) {
+                        insert.setString(i + 2, i < row.length && row[i] != null ? String.valueOf(row[i]) : null);
+                    }
+                    insert.addBatch();
+                    if (++count % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            logger.error("Error seeding fixture table: {}", table, e);
+            throw new RuntimeException("Error seeding fixture table: " + table, e);
+        }
+        logger.info("Seeded {} rows into {} in {} ms", count, table, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    /**
+     * Seeds a fixture table from a CSV file in the test data directory. The header row provides the column names.
+     * @param fileName The name of the CSV file (without path)
+     * @param table The table name
+     * @return The number of rows inserted
+     */
+    public long seedFromCsv(String fileName, String table) {
+        try (CsvReader reader = CsvReader.open(Paths.get(Constants.TEST_DATA_PATH, fileName), ',')) {
+            if (!reader.hasNext()) {
+                throw new IllegalArgumentException("CSV file has no header row: " + fileName);
+            }
+            return seed(table, reader.next(), reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading CSV file: " + fileName, e);
+        }
+    }
+
+    /**
+     * Seeds a fixture table with synthetic records.
+     * @param generator The generator
+     * @param dataset The dataset to generate
+     * @param count The number of records
+     * @param table The table name
+     * @return The number of rows inserted
+     */
+    public long seedSynthetic(SyntheticDataGenerator generator, SyntheticDataGenerator.Dataset dataset, long count, String table) {
+        return seed(table, dataset.getColumns(), generator.rows(dataset, count).iterator());
+    }
+
+    /**
+     * Reads all rows of a fixture table in seed order through a cursor.
+     * @param table The table name
+     * @param columns The columns to read
+     * @return A cursor over the rows
+     */
+    public Cursor readTable(String table, String... columns) {
+        checkIdentifier(table);
+        Arrays.stream(columns).forEach(DatabaseFixtures::checkIdentifier);
+        return query("SELECT " + String.join(", ", columns) + " FROM " + table + " ORDER BY row_no");
+    }
+
+    /**
+     * Runs a query and reads its rows lazily through a server-side cursor.
+     * The connection stays leased until the cursor is exhausted or closed.
+     * @param sql The SQL query with ? placeholders
+     * @param parameters The values bound to the placeholders
+     * @return A cursor over the rows
+     */
+    public Cursor query(String sql, Object... parameters) {
+        DbConnectionPool.Lease lease = null;
+        PreparedStatement statement = null;
+        try {
+            lease = pool.acquire();
+            Connection connection = lease.getConnection();
+            // PostgreSQL only streams with a fetch size when autocommit is off
+            connection.setAutoCommit(false);
+            statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            return new Cursor(lease, statement, statement.executeQuery());
+        } catch (SQLException e) {
+            // Close the statement before the connection goes back to the pool, where the next lease would inherit it
+            if (statement != null) {
+                try {
+                    statement.close();
+                } catch (SQLException closeError) {
+                    e.addSuppressed(closeError);
+                }
+            }
+            if (lease != null) {
+                lease.close();
+            }
+            logger.error("Error running fixture query: {}", sql, e);
+            throw new RuntimeException("Error running fixture query: " + sql, e);
+        }
+    }
+
+    private static void checkIdentifier(String name) {
+        if (!IDENTIFIER.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid SQL identifier: " + name);
+        }
+    }
+
+    /**
+     * Forward-only iterator over query rows. Resources are released when the last row has been read or on close.
+     */
+    public static final class Cursor implements Iterator<Object[]>, AutoCloseable {
+        private final DbConnectionPool.Lease lease;
+        private final PreparedStatement statement;
+        private final ResultSet resultSet;
+        private final int columnCount;
+        private Object[] next;
+        private boolean closed;
+
+        private Cursor(DbConnectionPool.Lease lease, PreparedStatement statement, ResultSet resultSet) throws SQLException {
+            this.lease = lease;
+            this.statement = statement;
+            this.resultSet = resultSet;
+            this.columnCount = resultSet.getMetaData().getColumnCount();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !closed) {
+                try {
+                    if (resultSet.next()) {
+                        next = new Object[columnCount];
+                        for (int i = 0; i < columnCount; i++) {
+                            next[i] = resultSet.getObject(i + 1);
+                        }
+                    } else {
+                        close();
+                    }
+                } catch (SQLException e) {
+                    close();
+                    throw new RuntimeException("Error reading fixture rows", e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more fixture rows");
+            }
+            Object[] result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                try {
+                    resultSet.close();
+                    statement.close();
+                } catch (SQLException e) {
+                    logger.debug("Error closing fixture cursor: {}", e.getMessage());
+                } finally {
+                    lease.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.utils;
+
+import com.example.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small bounded JDBC connection pool for test-data databases.
+ * At most {@code maxSize} connections are open at once; callers beyond that wait for a lease to be returned.
+ * Idle connections are validated before reuse and replaced when they are broken.
+ */
+public final class DbConnectionPool implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(DbConnectionPool.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static volatile DbConnectionPool instance;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final Semaphore permits;
+    private final BlockingQueue<Connection> idle = new LinkedBlockingQueue<>();
+    private volatile boolean closed;
+
+    /**
+     * Constructor for the DbConnectionPool.
+     * @param url The JDBC URL
+     * @param username The database user
+     * @param password The database password
+     * @param maxSize The maximum number of open connections
+     */
+    public DbConnectionPool(String url, String username, String password, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + maxSize);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Gets the pool configured by the "db_url", "db_username", "db_password" and "db_pool_size" properties.
+     * @return The shared pool
+     */
+    public static DbConnectionPool getInstance() {
+        DbConnectionPool pool = instance;
+        if (pool == null) {
+            synchronized (DbConnectionPool.class) {
+                pool = instance;
+                if (pool == null) {
+                    String url = ConfigReader.getProperty("db_url");
+                    if (url == null || url.isEmpty()) {
+                        throw new IllegalStateException("No test data database configured; set the db_url property");
+                    }
+                    pool = new DbConnectionPool(url,
+                            ConfigReader.getProperty("db_username", ""),
+                            ConfigReader.getProperty("db_password", ""),
+                            ConfigReader.getSnapshot().getInt("db_pool_size", 4, 1));
+                    Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "db-pool-shutdown"));
+                    instance = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Borrows a connection, waiting until one is available.
+     * @param timeoutMillis The maximum time to wait
+     * @return A lease that returns the connection to the pool when closed
+     * @throws SQLException if no connection becomes available in time or one cannot be opened
+     */
+    public Lease acquire(long timeoutMillis) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out after " + timeoutMillis + " ms waiting for one of " + maxSize + " connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        }
+
+        try {
+            Connection connection;
+            while ((connection = idle.poll()) != null) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    return new Lease(connection);
+                }
+                logger.debug("Discarding broken pooled connection");
+                closeQuietly(connection);
+            }
+            logger.debug("Opening test data database connection to {}", url);
+            return new Lease(DriverManager.getConnection(url, username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Borrows a connection with a 30 second timeout.
+     * @return A lease that returns the connection to the pool when closed
+     * @throws SQLException if no connection becomes available in time or one cannot be opened
+     */
+    public Lease acquire() throws SQLException {
+        return acquire(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    /**
+     * Closes all idle connections. Leased connections are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            closeQuietly(connection);
+        }
+    }
+
+    private void release(Connection connection) {
+        try {
+            if (!closed && !connection.isClosed()) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                idle.offer(connection);
+                return;
+            }
+        } catch (SQLException e) {
+            logger.debug("Discarding connection that could not be reset: {}", e.getMessage());
+        } finally {
+            permits.release();
+        }
+        closeQuietly(connection);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A borrowed connection. Closing the lease returns the connection to the pool; it must not be closed directly.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Connection connection;
+        private boolean released;
+
+        private Lease(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Gets the borrowed connection.
+         * @return The connection
+         */
+        public Connection getConnection() {
+            return connection;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(connection);
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.utils;
+
+import com.example.config.Constants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared cache of parsed JSON and CSV test fixtures.
+ * Each file is parsed once (JSON from a memory mapping), keyed by path and validated against its modification
+ * time and size, so data providers on different threads share a single parsed copy. Cached trees and rows are
+ * shared and must be treated as read-only. Very large JSON arrays can be streamed element by element instead,
+ * and large CSV files streamed with {@link DataUtils#openCsv(String)}.
+ */
+public class FixtureCache {
+
+    private static final Logger logger = LogManager.getLogger(FixtureCache.class);
+    private static final ObjectMapper mapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final Map<Path, Entry<JsonNode>> jsonCache = new ConcurrentHashMap<>();
+    private static final Map<Path, Entry<List<String[]>>> csvCache = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the parsed content of a JSON fixture in the test data directory.
+     * @param fileName The name of the JSON file (without path)
+     * @return The shared, read-only JSON tree
+     */
+    public static JsonNode getJson(String fileName) {
+        return getJson(Paths.get(Constants.TEST_DATA_PATH, fileName));
+    }
+
+    /**
+     * Gets the parsed content of a JSON fixture, parsing it only if it is not cached or has changed on disk.
+     * @param path The path of the JSON file
+     * @return The shared, read-only JSON tree
+     */
+    public static JsonNode getJson(Path path) {
+        Path key = path.toAbsolutePath().normalize();
+        return jsonCache.compute(key, (file, cached) -> {
+            BasicFileAttributes attributes = readAttributes(file);
+            if (cached != null && cached.isCurrent(attributes)) {
+                return cached;
+            }
+            logger.info("Parsing JSON fixture: {}", file);
+            try (InputStream input = openMapped(file)) {
+                return new Entry<>(mapper.readTree(input), attributes);
+            } catch (IOException e) {
+                logger.error("Error reading JSON fixture: {}", file, e);
+                throw new UncheckedIOException("Error reading JSON fixture: " + file, e);
+            }
+        }).value;
+    }
+
+    /**
+     * Gets the rows of a comma-separated CSV fixture in the test data directory, including the header row.
+     * @param fileName The name of the CSV file (without path)
+     * @return The shared, read-only rows
+     */
+    public static List<String[]> getCsv(String fileName) {
+        return getCsv(Paths.get(Constants.TEST_DATA_PATH, fileName));
+    }
+
+    /**
+     * Gets the rows of a comma-separated CSV fixture, parsing it only if it is not cached or has changed on disk.
+     * @param path The path of the CSV file
+     * @return The shared, read-only rows, including the header row
+     */
+    public static List<String[]> getCsv(Path path) {
+        Path key = path.toAbsolutePath().normalize();
+        return csvCache.compute(key, (file, cached) -> {
+            BasicFileAttributes attributes = readAttributes(file);
+            if (cached != null && cached.isCurrent(attributes)) {
+                return cached;
+            }
+            logger.info("Parsing CSV fixture: {}", file);
+            try (CsvReader reader = CsvReader.open(file, ',')) {
+                List<String[]> rows = new ArrayList<>();
+                reader.forEachRemaining(rows::add);
+                return new Entry<>(Collections.unmodifiableList(rows), attributes);
+            } catch (IOException e) {
+                logger.error("Error reading CSV fixture: {}", file, e);
+                throw new UncheckedIOException("Error reading CSV fixture: " + file, e);
+            }
+        }).value;
+    }
+
+    /**
+     * Streams the elements of a top-level array field without building the tree of the whole file.
+     * Only the element being returned is held in memory.
+     * @param fileName The name of the JSON file (without path)
+     * @param arrayField The name of the top-level field holding the array, or null if the root is an array
+     * @return An iterator over the array elements; the file is released once it is exhausted
+     */
+    public static Iterator<JsonNode> streamArray(String fileName, String arrayField) {
+        return streamArray(fileName, arrayField, JsonNode.class);
+    }
+
+    /**
+     * Streams the elements of a top-level array field, binding each one directly to a type.
+     * Elements are read from the parser into the target type without an intermediate tree; unknown
+     * properties are ignored and null elements are skipped.
+     * @param fileName The name of the JSON file (without path)
+     * @param arrayField The name of the top-level field holding the array, or null if the root is an array
+     * @param type The type each element is bound to
+     * @param <T> The element type
+     * @return An iterator over the bound elements; the file is released once it is exhausted
+     */
+    public static <T> Iterator<T> streamArray(String fileName, String arrayField, Class<T> type) {
+        Path file = Paths.get(Constants.TEST_DATA_PATH, fileName);
+        try {
+            JsonParser parser = mapper.getFactory().createParser(openMapped(file));
+            positionAtArray(parser, arrayField, file);
+            return new ArrayElementIterator<>(parser, type);
+        } catch (IOException e) {
+            logger.error("Error streaming JSON fixture: {}", file, e);
+            throw new UncheckedIOException("Error streaming JSON fixture: " + file, e);
+        }
+    }
+
+    /**
+     * Removes all cached fixtures.
+     */
+    public static void clear() {
+        jsonCache.clear();
+        csvCache.clear();
+    }
+
+    /**
+     * Opens a file as an input stream over a read-only memory mapping.
+     * The mapping stays valid after the channel is closed and is released by the garbage collector.
+     * @param file The file to map
+     * @return An input stream over the mapped bytes
+     * @throws IOException if the file cannot be mapped
+     */
+    static InputStream openMapped(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                // A single mapping is limited to 2 GB; fall back to a regular stream
+                return Files.newInputStream(file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new ByteBufferBackedInputStream(buffer);
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Fixture not found: " + file, e);
+        }
+    }
+
+    private static void positionAtArray(JsonParser parser, String arrayField, Path file) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (arrayField != null) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a JSON object in " + file);
+            }
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                token = parser.nextToken();
+                if (arrayField.equals(name)) {
+                    break;
+                }
+                parser.skipChildren();
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("No array field '" + arrayField + "' in " + file);
+            }
+        } else if (token != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected a JSON array in " + file);
+        }
+    }
+
+    /**
+     * Cached content together with the file state it was parsed from.
+     * @param <T> The parsed content type
+     */
+    private static class Entry<T> {
+        private final T value;
+        private final long lastModified;
+        private final long size;
+
+        Entry(T value, BasicFileAttributes attributes) {
+            this.value = value;
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.size = attributes.size();
+        }
+
+        boolean isCurrent(BasicFileAttributes attributes) {
+            return lastModified == attributes.lastModifiedTime().toMillis() && size == attributes.size();
+        }
+    }
+
+    /**
+     * Reads one array element at a time from a parser positioned at START_ARRAY.
+     * @param <T> The element type
+     */
+    private static class ArrayElementIterator<T> implements Iterator<T> {
+        private final JsonParser parser;
+        private final Class<T> type;
+        private T next;
+        private boolean done;
+
+        ArrayElementIterator(JsonParser parser, Class<T> type) {
+            this.parser = parser;
+            this.type = type;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null && !done) {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        done = true;
+                        parser.close();
+                    } else if (parser.currentToken() != JsonToken.VALUE_NULL) {
+                        next = mapper.readValue(parser, type);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error streaming JSON array", e);
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more array elements");
+            }
+            T result = next;
+            next = null;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.utils;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram in the style of HdrHistogram.
+ * Values below 128 are counted exactly; larger values fall into buckets whose width doubles with every power
+ * of two, each split into 64 linear sub-buckets, so any recorded value is reported within 1/64 (about 1.6%)
+ * of its true value. Counters are allocated lazily in chunks of 64 (about 0.5 KB), one per power of two that
+ * actually receives values, so a metric spanning a few powers of two costs a few KB regardless of the number of
+ * samples. Recording is lock-free, so many threads can record into the same histogram.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * SUB_BUCKET_HALF;
+    private static final int CHUNK_SIZE = SUB_BUCKET_HALF;
+    private static final int CHUNK_COUNT = BUCKET_COUNT / CHUNK_SIZE;
+
+    private final AtomicReferenceArray<AtomicLongArray> chunks = new AtomicReferenceArray<>(CHUNK_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     * @param value The value
+     */
+    public void record(long value) {
+        record(value, 1);
+    }
+
+    /**
+     * Records a value several times, e.g. when converting another histogram's buckets. Negative values are
+     * recorded as 0.
+     * @param value The value
+     * @param count The number of times the value occurred
+     */
+    public void record(long value, long count) {
+        if (count <= 0) {
+            return;
+        }
+        long clamped = Math.max(0, value);
+        int index = indexOf(clamped);
+        chunk(index / CHUNK_SIZE).addAndGet(index % CHUNK_SIZE, count);
+        totalCount.add(count);
+        min.accumulate(clamped);
+        max.accumulate(clamped);
+    }
+
+    /**
+     * Adds all counts of another histogram to this one.
+     * @param other The histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int c = 0; c < CHUNK_COUNT; c++) {
+            AtomicLongArray otherChunk = other.chunks.get(c);
+            if (otherChunk == null) {
+                continue;
+            }
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                long count = otherChunk.get(i);
+                if (count > 0) {
+                    chunk(c).addAndGet(i, count);
+                    totalCount.add(count);
+                }
+            }
+        }
+        if (other.getCount() > 0) {
+            min.accumulate(other.min.get());
+            max.accumulate(other.max.get());
+        }
+    }
+
+    /**
+     * Gets the number of recorded values.
+     * @return The count
+     */
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    /**
+     * Gets the smallest recorded value.
+     * @return The minimum, or 0 if nothing was recorded
+     */
+    public long getMin() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    /**
+     * Gets the largest recorded value.
+     * @return The maximum, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return getCount() == 0 ? 0 : max.get();
+    }
+
+    /**
+     * Gets the value at a percentile, reported as the upper bound of its bucket and never above the maximum.
+     * @param percentile The percentile between 0 and 100
+     * @return The value, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long cumulative = 0;
+        for (int c = 0; c < CHUNK_COUNT; c++) {
+            AtomicLongArray chunk = chunks.get(c);
+            if (chunk == null) {
+                continue;
+            }
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                cumulative += chunk.get(i);
+                if (cumulative >= target) {
+                    return Math.min(highestValueAt(c * CHUNK_SIZE + i), getMax());
+                }
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Gets the recorded values grouped by bucket, each reported like percentiles as the upper bound of its
+     * bucket and never above the maximum. Values below 128 are exact.
+     * @return A map of value to count in ascending value order, without empty buckets
+     */
+    public NavigableMap<Long, Long> getBuckets() {
+        NavigableMap<Long, Long> buckets = new TreeMap<>();
+        long max = getMax();
+        for (int c = 0; c < CHUNK_COUNT; c++) {
+            AtomicLongArray chunk = chunks.get(c);
+            if (chunk == null) {
+                continue;
+            }
+            for (int i = 0; i < CHUNK_SIZE; i++) {
+                long count = chunk.get(i);
+                if (count > 0) {
+                    buckets.merge(Math.min(highestValueAt(c * CHUNK_SIZE + i), max), count, Long::sum);
+                }
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Gets a chunk of counters, allocating it on first use. Racing threads agree on one chunk.
+     * @param chunkIndex The chunk index
+     * @return The chunk
+     */
+    private AtomicLongArray chunk(int chunkIndex) {
+        AtomicLongArray chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            chunk = new AtomicLongArray(CHUNK_SIZE);
+            if (!chunks.compareAndSet(chunkIndex, null, chunk)) {
+                chunk = chunks.get(chunkIndex);
+            }
+        }
+        return chunk;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+
+    static long highestValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF + 1;
+        long subBucket = offset % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        long upper = ((subBucket + 1) << shift) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe store of performance samples, grouped by scope (usually the running test), page and metric.
+ * Every measurement is recorded into a per-metric {@link LatencyHistogram} instead of replacing the previous
+ * value, so repeated or concurrent measurements of the same page accumulate and tail latency can be reported.
+ * Recording never takes a lock: scopes, pages and series are created with
+ * {@link ConcurrentHashMap#computeIfAbsent} and samples are added with atomic increments.
+ * Durations measured in Java are recorded in microseconds with {@link #recordMicros}; their series keep that
+ * resolution in the histogram and report milliseconds like the browser metrics, see {@link MetricSeries#getScale()}.
+ */
+public final class MetricStore {
+
+    /** Scope used for measurements taken outside of a test. */
+    public static final String GLOBAL_SCOPE = "global";
+
+    private static final MetricStore INSTANCE = new MetricStore();
+    private static final int MICROS_PER_MILLI = 1000;
+
+    private final Map<String, Map<String, PageMetrics>> scopes = new ConcurrentHashMap<>();
+
+    private MetricStore() {
+        // Use getInstance()
+    }
+
+    /**
+     * Gets the shared metric store.
+     * @return The metric store
+     */
+    public static MetricStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a numeric sample.
+     * @param scope The scope, e.g. the qualified test name
+     * @param page The page or operation name
+     * @param metric The metric name
+     * @param value The sample value
+     */
+    public void record(String scope, String page, String metric, long value) {
+        page(scope, page).series(metric, 1).record(value, 1);
+    }
+
+    /**
+     * Records a duration in microseconds into a series that reports milliseconds.
+     * @param scope The scope, e.g. the qualified test name
+     * @param page The page or operation name
+     * @param metric The metric name
+     * @param micros The duration in microseconds
+     */
+    public void recordMicros(String scope, String page, String metric, long micros) {
+        page(scope, page).series(metric, MICROS_PER_MILLI).record(micros, MICROS_PER_MILLI);
+    }
+
+    /**
+     * Stores a non-numeric attribute of a page, replacing the previous value.
+     * @param scope The scope, e.g. the qualified test name
+     * @param page The page or operation name
+     * @param name The attribute name
+     * @param value The attribute value
+     */
+    public void putAttribute(String scope, String page, String name, Object value) {
+        page(scope, page).attributes.put(name, value);
+    }
+
+    /**
+     * Gets the names of all scopes with measurements.
+     * @return The scope names, sorted
+     */
+    public Set<String> getScopes() {
+        return Collections.unmodifiableSet(new TreeMap<>(scopes).keySet());
+    }
+
+    /**
+     * Gets the measurements of one scope.
+     * @param scope The scope name
+     * @return A read-only view of the page metrics of the scope, empty if it has no measurements
+     */
+    public Map<String, PageMetrics> getScope(String scope) {
+        Map<String, PageMetrics> pages = scopes.get(scope);
+        return pages == null ? Collections.emptyMap() : Collections.unmodifiableMap(pages);
+    }
+
+    /**
+     * Merges the measurements of all scopes by page name.
+     * @return A snapshot of the merged page metrics, sorted by page name
+     */
+    public Map<String, PageMetrics> aggregateByPage() {
+        Map<String, PageMetrics> merged = new TreeMap<>();
+        for (Map<String, PageMetrics> pages : scopes.values()) {
+            for (Map.Entry<String, PageMetrics> entry : pages.entrySet()) {
+                merged.computeIfAbsent(entry.getKey(), name -> new PageMetrics()).mergeFrom(entry.getValue());
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Removes the measurements of one scope.
+     * @param scope The scope name
+     */
+    public void clearScope(String scope) {
+        scopes.remove(scope);
+    }
+
+    /**
+     * Removes all measurements.
+     */
+    public void clear() {
+        scopes.clear();
+    }
+
+    /**
+     * Converts a value from a series' recording unit to its reported unit for display.
+     * @param value The value in the recording unit
+     * @param scale The series' scale, see {@link MetricSeries#getScale()}
+     * @return The value as a whole number if the scale is 1, else with three decimals
+     */
+    static Number toDisplay(long value, int scale) {
+        return scale == 1 ? (Number) value : (Number) (Math.round((double) value * 1000 / scale) / 1000.0);
+    }
+
+    private PageMetrics page(String scope, String page) {
+        return scopes.computeIfAbsent(scope, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(page, name -> new PageMetrics());
+    }
+
+    /**
+     * The metric series and attributes recorded for a page.
+     */
+    public static final class PageMetrics {
+        private final Map<String, MetricSeries> series = new ConcurrentHashMap<>();
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+        MetricSeries series(String metric, int scale) {
+            return series.computeIfAbsent(metric, name -> new MetricSeries(scale));
+        }
+
+        /**
+         * Gets the metric series of the page.
+         * @return A read-only view of the series by metric name
+         */
+        public Map<String, MetricSeries> getSeries() {
+            return Collections.unmodifiableMap(series);
+        }
+
+        /**
+         * Gets a metric series.
+         * @param metric The metric name
+         * @return The series, or null if the metric has no samples
+         */
+        public MetricSeries getSeries(String metric) {
+            return series.get(metric);
+        }
+
+        /**
+         * Gets the non-numeric attributes of the page.
+         * @return A read-only view of the attributes
+         */
+        public Map<String, Object> getAttributes() {
+            return Collections.unmodifiableMap(attributes);
+        }
+
+        private void mergeFrom(PageMetrics other) {
+            other.series.forEach((metric, samples) -> {
+                MetricSeries target = series(metric, samples.scale);
+                if (target.scale < samples.scale) {
+                    // Keep the finer resolution whichever scope is merged first
+                    MetricSeries finer = new MetricSeries(samples.scale);
+                    finer.mergeFrom(target);
+                    series.put(metric, finer);
+                    target = finer;
+                }
+                target.mergeFrom(samples);
+            });
+            attributes.putAll(other.attributes);
+        }
+    }
+
+    /**
+     * All samples of one metric, held in a latency histogram with running aggregates.
+     * Samples are stored in the series' recording unit, which is finer than the reported unit by {@link #getScale()};
+     * the histogram and its buckets use the recording unit, every other accessor the reported unit.
+     */
+    public static final class MetricSeries {
+        private final int scale;
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong last = new AtomicLong();
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private MetricSeries(int scale) {
+            this.scale = scale;
+        }
+
+        /**
+         * Records a sample, converting it if it was measured at a different scale than the series uses.
+         * @param value The sample value
+         * @param valueScale The scale the value was measured at
+         */
+        void record(long value, int valueScale) {
+            long scaled = valueScale == scale ? value : Math.round((double) value * scale / valueScale);
+            histogram.record(scaled);
+            sum.add(scaled);
+            last.set(scaled);
+        }
+
+        private void mergeFrom(MetricSeries other) {
+            if (other.scale == scale) {
+                histogram.add(other.histogram);
+            } else {
+                other.histogram.getBuckets().forEach((value, count) ->
+                        histogram.record(Math.round((double) value * scale / other.scale), count));
+            }
+            sum.add(Math.round((double) other.sum.sum() * scale / other.scale));
+            last.set(Math.round((double) other.last.get() * scale / other.scale));
+        }
+
+        /**
+         * Gets the number of recording units per reported unit, e.g. 1000 for durations recorded in microseconds
+         * and reported in milliseconds, or 1 if samples are recorded as reported.
+         * @return The scale
+         */
+        public int getScale() {
+            return scale;
+        }
+
+        /**
+         * Gets the number of samples.
+         * @return The sample count
+         */
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        /**
+         * Gets the sum of all samples.
+         * @return The sum
+         */
+        public long getSum() {
+            return toReported(sum.sum());
+        }
+
+        /**
+         * Gets the smallest sample.
+         * @return The minimum, or 0 if there are no samples
+         */
+        public long getMin() {
+            return toReported(histogram.getMin());
+        }
+
+        /**
+         * Gets the largest sample.
+         * @return The maximum, or 0 if there are no samples
+         */
+        public long getMax() {
+            return toReported(histogram.getMax());
+        }
+
+        /**
+         * Gets the arithmetic mean of the samples.
+         * @return The mean, or 0 if there are no samples
+         */
+        public double getMean() {
+            long n = getCount();
+            return n == 0 ? 0 : (double) sum.sum() / scale / n;
+        }
+
+        /**
+         * Gets the most recently recorded sample.
+         * @return The last sample
+         */
+        public long getLast() {
+            return toReported(last.get());
+        }
+
+        /**
+         * Gets the sample value at a percentile.
+         * @param percentile The percentile between 0 and 100
+         * @return The value, within the histogram's precision
+         */
+        public long getPercentile(double percentile) {
+            return toReported(histogram.getValueAtPercentile(percentile));
+        }
+
+        /**
+         * Gets a value at the recording scale for display in the reported unit, keeping the finer resolution.
+         * @param value The value in the recording unit
+         * @return The value as a whole number if the series is not scaled, else with three decimals
+         */
+        public Number toDisplay(long value) {
+            return MetricStore.toDisplay(value, scale);
+        }
+
+        /**
+         * Gets the histogram holding the samples, in the recording unit.
+         * @return The histogram
+         */
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        /**
+         * Summarises the series for reports, in the reported unit and at the recording resolution.
+         * @return A map with count, mean, min, p50, p90, p99 and max
+         */
+        public Map<String, Object> toSummary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", getCount());
+            summary.put("mean", toDisplay(Math.round(getMean() * scale)));
+            summary.put("min", toDisplay(histogram.getMin()));
+            summary.put("p50", toDisplay(histogram.getValueAtPercentile(50)));
+            summary.put("p90", toDisplay(histogram.getValueAtPercentile(90)));
+            summary.put("p99", toDisplay(histogram.getValueAtPercentile(99)));
+            summary.put("max", toDisplay(histogram.getMax()));
+            return summary;
+        }
+
+        private long toReported(long value) {
+            return scale == 1 ? value : Math.round((double) value / scale);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.example.utils;
+
+import com.example.config.ConfigReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Performance budgets per page, evaluated against the histograms in the {@link MetricStore}.
+ * Budgets are read from a JSON file that maps page names to metric limits. A plain number limits the metric at
+ * the file's default percentile (90 if not set); an object sets the percentile of one budget. Budgets under the
+ * page "*" apply to every page that has samples of the metric, unless the page sets its own:
+ * <pre>
+ * {
+ *   "percentile": 90,
+ *   "pages": {
+ *     "*": { "loadTime": 3000, "lcp": 2500, "totalResources": 150 },
+ *     "LoginPage": { "totalResourcesSize": 2097152, "ttfb": { "percentile": 99, "max": 1800 } }
+ *   }
+ * }
+ * </pre>
+ * Metrics without samples are not evaluated, so a budget never fails because a test did not measure a page.
+ */
+public final class PerformanceBudget {
+
+    /** Page name whose budgets apply to all pages. */
+    public static final String ALL_PAGES = "*";
+
+    private static final Logger logger = LogManager.getLogger(PerformanceBudget.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final double DEFAULT_PERCENTILE = 90;
+    private static volatile PerformanceBudget configured;
+
+    private final Map<String, Map<String, Limit>> pages;
+
+    private PerformanceBudget(Map<String, Map<String, Limit>> pages) {
+        this.pages = pages;
+    }
+
+    /**
+     * Gets the budgets of the file named by "performance_budget_file" (default performance-budgets.json),
+     * loading them on first use.
+     * @return The configured budgets
+     */
+    public static PerformanceBudget getConfigured() {
+        PerformanceBudget budget = configured;
+        if (budget == null) {
+            synchronized (PerformanceBudget.class) {
+                budget = configured;
+                if (budget == null) {
+                    budget = load(ConfigReader.getProperty("performance_budget_file", "performance-budgets.json").trim());
+                    configured = budget;
+                }
+            }
+        }
+        return budget;
+    }
+
+    /**
+     * Loads budgets from the classpath or, if there is no such resource, from a file on disk.
+     * @param location The classpath resource or file path, e.g. "performance-budgets.json"
+     * @return The budgets, empty if neither exists
+     */
+    public static PerformanceBudget load(String location) {
+        try (InputStream input = PerformanceBudget.class.getClassLoader().getResourceAsStream(location)) {
+            if (input != null) {
+                return parse(mapper.readTree(input), location);
+            }
+            Path file = Paths.get(location);
+            if (Files.isRegularFile(file)) {
+                return parse(mapper.readTree(file.toFile()), location);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read performance budgets from {}: {}", location, e.getMessage(), e);
+            throw new UncheckedIOException("Failed to read performance budgets from " + location, e);
+        }
+        logger.warn("No performance budgets found at {}", location);
+        return new PerformanceBudget(Collections.emptyMap());
+    }
+
+    private static PerformanceBudget parse(JsonNode root, String location) {
+        double percentile = root.path("percentile").asDouble(DEFAULT_PERCENTILE);
+        Map<String, Map<String, Limit>> pages = new LinkedHashMap<>();
+        int count = 0;
+        for (Iterator<Map.Entry<String, JsonNode>> pageNodes = root.path("pages").fields(); pageNodes.hasNext(); ) {
+            Map.Entry<String, JsonNode> page = pageNodes.next();
+            Map<String, Limit> limits = new LinkedHashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> metrics = page.getValue().fields(); metrics.hasNext(); ) {
+                Map.Entry<String, JsonNode> metric = metrics.next();
+                JsonNode value = metric.getValue();
+                Limit limit = value.isNumber()
+                        ? new Limit(percentile, value.asLong())
+                        : new Limit(value.path("percentile").asDouble(percentile), value.path("max").asLong(-1));
+                if (limit.getMax() < 0 || limit.getPercentile() < 0 || limit.getPercentile() > 100) {
+                    throw new IllegalArgumentException("Invalid budget for " + page.getKey() + "/" + metric.getKey()
+                            + " in " + location + ": " + value);
+                }
+                limits.put(metric.getKey(), limit);
+                count++;
+            }
+            pages.put(page.getKey(), limits);
+        }
+        logger.info("Loaded {} performance budgets for {} pages from {}", count, pages.size(), location);
+        return new PerformanceBudget(pages);
+    }
+
+    /**
+     * Gets the budget of a page's metric.
+     * @param page The page name
+     * @param metric The metric name
+     * @return The page's own budget, else the budget for all pages, else null
+     */
+    public Limit getLimit(String page, String metric) {
+        Limit limit = pages.getOrDefault(page, Collections.emptyMap()).get(metric);
+        return limit != null ? limit : pages.getOrDefault(ALL_PAGES, Collections.emptyMap()).get(metric);
+    }
+
+    /**
+     * Checks whether any budgets are defined.
+     * @return true if there are no budgets
+     */
+    public boolean isEmpty() {
+        return pages.values().stream().allMatch(Map::isEmpty);
+    }
+
+    /**
+     * Evaluates every budget against the samples of all scopes merged by page.
+     * The scopes (tests) with a sample above the limit are named in each exceeded budget's result.
+     * @param store The metric store
+     * @return The results of all budgets with samples, exceeded budgets first
+     */
+    public List<Result> evaluate(MetricStore store) {
+        return evaluate(store, store.aggregateByPage());
+    }
+
+    /**
+     * Evaluates every budget against page metrics the caller has already merged across scopes.
+     * @param store The metric store, used to find the scopes that exceeded a budget
+     * @param pages The samples of all scopes merged by page, see {@link MetricStore#aggregateByPage()}
+     * @return The results of all budgets with samples, exceeded budgets first
+     */
+    public List<Result> evaluate(MetricStore store, Map<String, MetricStore.PageMetrics> pages) {
+        List<Result> exceeded = new ArrayList<>();
+        List<Result> met = new ArrayList<>();
+        for (Map.Entry<String, MetricStore.PageMetrics> page : pages.entrySet()) {
+            for (Map.Entry<String, MetricStore.MetricSeries> metric : page.getValue().getSeries().entrySet()) {
+                Limit limit = getLimit(page.getKey(), metric.getKey());
+                if (limit == null || metric.getValue().getCount() == 0) {
+                    continue;
+                }
+                long actual = metric.getValue().getPercentile(limit.getPercentile());
+                if (actual <= limit.getMax()) {
+                    met.add(new Result(page.getKey(), metric.getKey(), limit, actual, metric.getValue().getCount(),
+                            Collections.emptyList()));
+                    continue;
+                }
+                List<String> scopes = new ArrayList<>();
+                for (String scope : store.getScopes()) {
+                    MetricStore.PageMetrics scopePage = store.getScope(scope).get(page.getKey());
+                    MetricStore.MetricSeries series = scopePage == null ? null : scopePage.getSeries(metric.getKey());
+                    if (series != null && series.getMax() > limit.getMax()) {
+                        scopes.add(scope);
+                    }
+                }
+                exceeded.add(new Result(page.getKey(), metric.getKey(), limit, actual, metric.getValue().getCount(), scopes));
+            }
+        }
+        exceeded.addAll(met);
+        return exceeded;
+    }
+
+    /**
+     * A metric limit at a percentile.
+     */
+    public static final class Limit {
+        private final double percentile;
+        private final long max;
+
+        private Limit(double percentile, long max) {
+            this.percentile = percentile;
+            this.max = max;
+        }
+
+        /**
+         * Gets the percentile the limit applies to.
+         * @return The percentile between 0 and 100
+         */
+        public double getPercentile() {
+            return percentile;
+        }
+
+        /**
+         * Gets the largest allowed value at the percentile.
+         * @return The limit, in the metric's unit
+         */
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            long whole = (long) percentile;
+            return "p" + (whole == percentile ? String.valueOf(whole) : String.valueOf(percentile)) + " <= " + max;
+        }
+    }
+
+    /**
+     * The outcome of one budget.
+     */
+    public static final class Result {
+        private final String page;
+        private final String metric;
+        private final Limit limit;
+        private final long actual;
+        private final long samples;
+        private final List<String> offendingScopes;
+
+        private Result(String page, String metric, Limit limit, long actual, long samples, List<String> offendingScopes) {
+            this.page = page;
+            this.metric = metric;
+            this.limit = limit;
+            this.actual = actual;
+            this.samples = samples;
+            this.offendingScopes = Collections.unmodifiableList(offendingScopes);
+        }
+
+        /**
+         * Gets the page name.
+         * @return The page name
+         */
+        public String getPage() {
+            return page;
+        }
+
+        /**
+         * Gets the metric name.
+         * @return The metric name
+         */
+        public String getMetric() {
+            return metric;
+        }
+
+        /**
+         * Gets the budget.
+         * @return The limit
+         */
+        public Limit getLimit() {
+            return limit;
+        }
+
+        /**
+         * Gets the measured value at the budget's percentile.
+         * @return The value
+         */
+        public long getActual() {
+            return actual;
+        }
+
+        /**
+         * Gets the number of samples the value was computed from.
+         * @return The sample count
+         */
+        public long getSamples() {
+            return samples;
+        }
+
+        /**
+         * Checks whether the budget was met.
+         * @return true if the value is within the limit
+         */
+        public boolean isPassed() {
+            return actual <= limit.getMax();
+        }
+
+        /**
+         * Gets the scopes (tests) with at least one sample above the limit.
+         * @return The scope names, empty if the budget was met
+         */
+        public List<String> getOffendingScopes() {
+            return offendingScopes;
+        }
+
+        /**
+         * Summarises the result for reports.
+         * @return A map with page, metric, percentile, limit, actual, samples, passed and offendingScopes
+         */
+        public Map<String, Object> toSummary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("page", page);
+            summary.put("metric", metric);
+            summary.put("percentile", limit.getPercentile());
+            summary.put("limit", limit.getMax());
+            summary.put("actual", actual);
+            summary.put("samples", samples);
+            summary.put("passed", isPassed());
+            summary.put("offendingScopes", offendingScopes);
+            return summary;
+        }
+
+        @Override
+        public String toString() {
+            return page + " " + metric + " " + limit + ": " + actual + " (" + samples + " samples)";
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.utils;
+
+import com.example.config.ConfigReader;
+import com.example.config.Constants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Append-only store of the samples of every run, kept across builds so runs can be compared.
+ * Each page and metric has one file, {@code <directory>/<page>/<metric>.jsonl}, with one line per run:
+ * the run id, its timestamp, the series' scale and the run's samples as flat value/count pairs taken from the
+ * metric's histogram. The samples are in the recording unit of the series (see {@link MetricStore.MetricSeries#getScale()});
+ * lines written before the scale was stored have scale 1.
+ * Lines are only ever appended, so the files can be cached or committed between CI builds. A run that is
+ * appended twice (e.g. by two suites in one JVM) is read back as its last line.
+ */
+public final class PerformanceHistory {
+
+    private static final Logger logger = LogManager.getLogger(PerformanceHistory.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+    private static final String CONFIGURED_RUN_ID = ConfigReader.getProperty("performance_run_id", "").trim();
+    private static final String RUN_ID = CONFIGURED_RUN_ID.isEmpty() ? DATE_FORMAT.format(new Date()) : CONFIGURED_RUN_ID;
+
+    private final Path directory;
+
+    /**
+     * Constructor for the PerformanceHistory.
+     * @param directory The directory holding the history files
+     */
+    public PerformanceHistory(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the history in the directory named by "performance_history_dir" (default target/performance-history).
+     * @return The configured history
+     */
+    public static PerformanceHistory getDefault() {
+        return new PerformanceHistory(Paths.get(
+                ConfigReader.getProperty("performance_history_dir", Constants.PERFORMANCE_HISTORY_PATH).trim()));
+    }
+
+    /**
+     * Gets the id of the current run: "performance_run_id" if set (e.g. the CI build number),
+     * else the time this JVM started measuring.
+     * @return The run id
+     */
+    public static String getRunId() {
+        return RUN_ID;
+    }
+
+    /**
+     * Checks whether runs are recorded: they are only appended when "performance_run_id" is set, so local runs
+     * compare with the history without adding to it.
+     * @return true if "performance_run_id" is set
+     */
+    public static boolean isRecording() {
+        return !CONFIGURED_RUN_ID.isEmpty();
+    }
+
+    /**
+     * Appends the samples of every page and metric in the store as one run.
+     * @param runId The run id
+     * @param store The metric store
+     * @return The number of series appended
+     */
+    public int append(String runId, MetricStore store) {
+        long timestamp = System.currentTimeMillis();
+        int appended = 0;
+        for (Map.Entry<String, MetricStore.PageMetrics> page : store.aggregateByPage().entrySet()) {
+            for (Map.Entry<String, MetricStore.MetricSeries> metric : page.getValue().getSeries().entrySet()) {
+                if (metric.getValue().getCount() > 0) {
+                    append(file(page.getKey(), metric.getKey()), runId, timestamp, metric.getValue().getScale(),
+                            metric.getValue().getHistogram().getBuckets());
+                    appended++;
+                }
+            }
+        }
+        logger.info("Appended {} series of run {} to {}", appended, runId, directory);
+        return appended;
+    }
+
+    /**
+     * Reads the most recent runs of a page's metric, oldest first.
+     * @param page The page name
+     * @param metric The metric name
+     * @param maxRuns The maximum number of runs to return
+     * @param excludeRunId A run to leave out, e.g. the current one, or null
+     * @return The runs, empty if the metric has no history
+     */
+    public List<Run> read(String page, String metric, int maxRuns, String excludeRunId) {
+        Path file = file(page, metric);
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyList();
+        }
+        Map<String, Run> runs = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Run run = parse(line, file);
+                if (run != null && !run.getRunId().equals(excludeRunId)) {
+                    runs.remove(run.getRunId());
+                    runs.put(run.getRunId(), run);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to read performance history {}: {}", file, e.getMessage(), e);
+            throw new UncheckedIOException("Failed to read performance history " + file, e);
+        }
+        List<Run> all = new ArrayList<>(runs.values());
+        return all.subList(Math.max(0, all.size() - maxRuns), all.size());
+    }
+
+    /**
+     * Gets the directory holding the history files.
+     * @return The directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private Path file(String page, String metric) {
+        return directory.resolve(safeName(page)).resolve(safeName(metric) + ".jsonl");
+    }
+
+    private static void append(Path file, String runId, long timestamp, int scale, NavigableMap<Long, Long> buckets) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+                 JsonGenerator json = mapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                json.writeStartObject();
+                json.writeStringField("run", runId);
+                json.writeNumberField("time", timestamp);
+                json.writeNumberField("scale", scale);
+                json.writeArrayFieldStart("values");
+                for (Map.Entry<Long, Long> bucket : buckets.entrySet()) {
+                    json.writeNumber(bucket.getKey());
+                    json.writeNumber(bucket.getValue());
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+                json.writeRaw('\n');
+            }
+        } catch (IOException e) {
+            logger.error("Failed to append performance history {}: {}", file, e.getMessage(), e);
+            throw new UncheckedIOException("Failed to append performance history " + file, e);
+        }
+    }
+
+    private static Run parse(String line, Path file) {
+        try {
+            JsonNode node = mapper.readTree(line);
+            JsonNode values = node.path("values");
+            NavigableMap<Long, Long> buckets = new TreeMap<>();
+            for (int i = 0; i + 1 < values.size(); i += 2) {
+                buckets.merge(values.get(i).asLong(), values.get(i + 1).asLong(), Long::sum);
+            }
+            return new Run(node.path("run").asText(), node.path("time").asLong(), Math.max(1, node.path("scale").asInt(1)), buckets);
+        } catch (IOException e) {
+            // A line cut short by an interrupted build must not hide the rest of the history
+            logger.warn("Skipping unreadable line in {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String safeName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * The samples of one metric in one run.
+     */
+    public static final class Run {
+        private final String runId;
+        private final long timestamp;
+        private final int scale;
+        private final NavigableMap<Long, Long> values;
+        private final long count;
+
+        Run(String runId, long timestamp, int scale, NavigableMap<Long, Long> values) {
+            this.runId = runId;
+            this.timestamp = timestamp;
+            this.scale = scale;
+            this.values = Collections.unmodifiableNavigableMap(values);
+            this.count = values.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /**
+         * Gets the run id.
+         * @return The run id
+         */
+        public String getRunId() {
+            return runId;
+        }
+
+        /**
+         * Gets the time the run was stored.
+         * @return The epoch milliseconds
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Gets the scale the samples were recorded at.
+         * @return The scale, see {@link MetricStore.MetricSeries#getScale()}
+         */
+        public int getScale() {
+            return scale;
+        }
+
+        /**
+         * Gets the samples of the run at the scale they were recorded at.
+         * @return A map of value to count in ascending value order
+         */
+        public NavigableMap<Long, Long> getValues() {
+            return values;
+        }
+
+        /**
+         * Gets the samples of the run converted to another scale, e.g. the current run's, so they can be pooled.
+         * @param targetScale The scale to convert to
+         * @return A map of value to count in ascending value order
+         */
+        public NavigableMap<Long, Long> getValues(int targetScale) {
+            if (targetScale == scale) {
+                return values;
+            }
+            NavigableMap<Long, Long> converted = new TreeMap<>();
+            values.forEach((value, count) -> converted.merge(Math.round((double) value * targetScale / scale), count, Long::sum));
+            return converted;
+        }
+
+        /**
+         * Gets the number of samples.
+         * @return The sample count
+         */
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -1,27 +1,65 @@
 package com.example.utils;
 
 import com.example.config.Constants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.json.JSONObject;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Reporter class for generating performance reports.
  * This class provides methods to generate HTML and JSON reports for performance metrics.
+ * Reports are streamed to their files while the metrics are iterated, through a buffered UTF-8 writer for HTML
+ * and a Jackson {@link JsonGenerator} for JSON, so report size does not drive heap usage.
  */
 public class PerformanceReporter {
 
     private static final Logger logger = LogManager.getLogger(PerformanceReporter.class);
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final int MAX_WATERFALL_ROWS = 300;
+    // Good and poor limits; web vitals use the Core Web Vitals thresholds
+    private static final Map<String, long[]> THRESHOLDS = Map.of(
+            "loadTime", new long[] {1000, 3000},
+            "totalTime", new long[] {2000, 5000},
+            "domLoadTime", new long[] {1000, 2500},
+            "ttfb", new long[] {800, 1800},
+            "fcp", new long[] {1800, 3000},
+            "lcp", new long[] {2500, 4000},
+            "inp", new long[] {200, 500},
+            "clsX1000", new long[] {100, 250},
+            "totalBlockingTime", new long[] {200, 600},
+            "routeChangeTime", new long[] {1000, 3000});
+    private static final Map<String, String> METRIC_LABELS = Map.of(
+            "loadTime", "Load Time",
+            "totalTime", "Total Time",
+            "domLoadTime", "DOM Load Time",
+            "ttfb", "Time to First Byte",
+            "fcp", "First Contentful Paint",
+            "lcp", "Largest Contentful Paint",
+            "inp", "Interaction to Next Paint",
+            "clsX1000", "Cumulative Layout Shift (x1000)",
+            "totalBlockingTime", "Total Blocking Time",
+            "routeChangeTime", "Route Change (click to render)");
+    // Millisecond metrics whose names do not end in "Time"
+    private static final Set<String> MILLISECOND_METRICS = Set.of(
+            "ttfb", "fcp", "lcp", "inp", "domInteractive", "domContentLoaded", "loadEventEnd");
 
     /**
      * Generates a performance report in JSON format.
@@ -38,15 +76,35 @@ public class PerformanceReporter {
             String timestamp = DATE_FORMAT.format(new Date());
             Path reportFile = reportDir.resolve(testName + "_" + timestamp + ".json");
             
-            // Convert metrics to JSON
-            JSONObject jsonReport = new JSONObject();
-            jsonReport.put("testName", testName);
-            jsonReport.put("timestamp", timestamp);
-            jsonReport.put("metrics", PerformanceUtils.getAllPerformanceMetrics());
-            
-            // Write to file
-            try (FileWriter writer = new FileWriter(reportFile.toFile())) {
-                writer.write(jsonReport.toString(2));
+            // Stream metrics to the file
+            MetricStore store = MetricStore.getInstance();
+            Map<String, MetricStore.PageMetrics> pages = store.aggregateByPage();
+            try (JsonGenerator json = createJsonGenerator(reportFile)) {
+                json.writeStartObject();
+                json.writeStringField("testName", testName);
+                json.writeStringField("timestamp", timestamp);
+                json.writeFieldName("metrics");
+                writeMetrics(json, pages);
+                json.writeFieldName("pages");
+                writePages(json, pages);
+                json.writeObjectFieldStart("scopes");
+                for (String scope : store.getScopes()) {
+                    json.writeFieldName(scope);
+                    writePages(json, store.getScope(scope));
+                }
+                json.writeEndObject();
+                json.writeObjectFieldStart("resourceStats");
+                json.writeFieldName("domains");
+                writeResourceStats(json, ResourceTimingRecorder.getDomainStats());
+                json.writeFieldName("types");
+                writeResourceStats(json, ResourceTimingRecorder.getTypeStats());
+                json.writeEndObject();
+                json.writeArrayFieldStart("budgets");
+                for (PerformanceBudget.Result result : PerformanceBudget.getConfigured().evaluate(store, pages)) {
+                    json.writeObject(result.toSummary());
+                }
+                json.writeEndArray();
+                json.writeEndObject();
             }
             
             logger.info("Performance JSON report generated: {}", reportFile);
@@ -72,142 +130,134 @@ public class PerformanceReporter {
             String timestamp = DATE_FORMAT.format(new Date());
             Path reportFile = reportDir.resolve(testName + "_" + timestamp + ".html");
             
-            // Generate HTML content
-            StringBuilder html = new StringBuilder();
-            html.append("<!DOCTYPE html>\n")
-                .append("<html lang=\"en\">\n")
-                .append("<head>\n")
-                .append("    <meta charset=\"UTF-8\">\n")
-                .append("    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n")
-                .append("    <title>Performance Report - ").append(testName).append("</title>\n")
-                .append("    <style>\n")
-                .append("        body { font-family: Arial, sans-serif; margin: 20px; }\n")
-                .append("        h1 { color: #333; }\n")
-                .append("        .page-section { margin-bottom: 30px; border: 1px solid #ddd; padding: 15px; border-radius: 5px; }\n")
-                .append("        .page-title { background-color: #f5f5f5; padding: 10px; margin-top: 0; }\n")
-                .append("        table { border-collapse: collapse; width: 100%; }\n")
-                .append("        th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }\n")
-                .append("        th { background-color: #f2f2f2; }\n")
-                .append("        .metric-good { color: green; }\n")
-                .append("        .metric-warning { color: orange; }\n")
-                .append("        .metric-bad { color: red; }\n")
-                .append("    </style>\n")
-                .append("</head>\n")
-                .append("<body>\n")
-                .append("    <h1>Performance Report - ").append(testName).append("</h1>\n")
-                .append("    <p>Generated on: ").append(timestamp).append("</p>\n");
+            // Stream HTML content to the file, one section at a time
+            try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+                StringBuilder html = new StringBuilder();
+                html.append("<!DOCTYPE html>\n")
+                    .append("<html lang=\"en\">\n")
+                    .append("<head>\n")
+                    .append("    <meta charset=\"UTF-8\">\n")
+                    .append("    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n")
+                    .append("    <title>Performance Report - ").append(testName).append("</title>\n")
+                    .append("    <style>\n")
+                    .append("        body { font-family: Arial, sans-serif; margin: 20px; }\n")
+                    .append("        h1 { color: #333; }\n")
+                    .append("        .page-section { margin-bottom: 30px; border: 1px solid #ddd; padding: 15px; border-radius: 5px; }\n")
+                    .append("        .page-title { background-color: #f5f5f5; padding: 10px; margin-top: 0; }\n")
+                    .append("        table { border-collapse: collapse; width: 100%; }\n")
+                    .append("        th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }\n")
+                    .append("        th { background-color: #f2f2f2; }\n")
+                    .append("        .metric-good { color: green; }\n")
+                    .append("        .metric-warning { color: orange; }\n")
+                    .append("        .metric-bad { color: red; }\n")
+                    .append("        .waterfall td { padding: 2px 8px; font-size: 12px; }\n")
+                    .append("        .waterfall .url { max-width: 420px; overflow: hidden; text-overflow: ellipsis; white-space: nowrap; }\n")
+                    .append("        .waterfall .track { position: relative; width: 50%; min-width: 300px; }\n")
+                    .append("        .waterfall .bar { position: absolute; top: 4px; height: 10px; background-color: #4a90d9; min-width: 1px; }\n")
+                    .append("    </style>\n")
+                    .append("</head>\n")
+                    .append("<body>\n")
+                    .append("    <h1>Performance Report - ").append(testName).append("</h1>\n")
+                    .append("    <p>Generated on: ").append(timestamp).append("</p>\n");
+                flush(html, writer);
             
-            // Add metrics for each page
-            Map<String, Map<String, Object>> allMetrics = PerformanceUtils.getAllPerformanceMetrics();
-            for (Map.Entry<String, Map<String, Object>> entry : allMetrics.entrySet()) {
-                String pageName = entry.getKey();
-                Map<String, Object> metrics = entry.getValue();
-                
-                html.append("    <div class=\"page-section\">\n")
-                    .append("        <h2 class=\"page-title\">").append(pageName).append("</h2>\n");
+                // Add metrics for each page
+                for (Map.Entry<String, MetricStore.PageMetrics> entry : MetricStore.getInstance().aggregateByPage().entrySet()) {
+                    String pageName = entry.getKey();
+                    Map<String, MetricStore.MetricSeries> series = entry.getValue().getSeries();
+                    Map<String, Object> metrics = entry.getValue().getAttributes();
                 
-                // Page load metrics
-                html.append("        <h3>Page Load Metrics</h3>\n")
-                    .append("        <table>\n")
-                    .append("            <tr><th>Metric</th><th>Value</th><th>Status</th></tr>\n");
+                    html.append("    <div class=\"page-section\">\n")
+                        .append("        <h2 class=\"page-title\">").append(pageName).append("</h2>\n");
                 
-                // Add load time
-                if (metrics.containsKey("loadTime")) {
-                    long loadTime = (Long) metrics.get("loadTime");
-                    String loadTimeClass = loadTime < 1000 ? "metric-good" : (loadTime < 3000 ? "metric-warning" : "metric-bad");
-                    html.append("            <tr><td>Load Time</td><td>").append(loadTime).append(" ms</td>")
-                        .append("<td class=\"").append(loadTimeClass).append("\">")
-                        .append(loadTime < 1000 ? "Good" : (loadTime < 3000 ? "Warning" : "Slow"))
-                        .append("</td></tr>\n");
-                }
-                
-                // Add navigation timing metrics
-                if (metrics.containsKey("totalTime")) {
-                    long totalTime = ((Number) metrics.get("totalTime")).longValue();
-                    String totalTimeClass = totalTime < 2000 ? "metric-good" : (totalTime < 5000 ? "metric-warning" : "metric-bad");
-                    html.append("            <tr><td>Total Time</td><td>").append(totalTime).append(" ms</td>")
-                        .append("<td class=\"").append(totalTimeClass).append("\">")
-                        .append(totalTime < 2000 ? "Good" : (totalTime < 5000 ? "Warning" : "Slow"))
-                        .append("</td></tr>\n");
-                }
+                    // Page load metrics, as percentiles over all samples of the suite
+                    html.append("        <h3>Page Load Metrics</h3>\n")
+                        .append("        <table>\n")
+                        .append("            <tr><th>Metric</th><th>Samples</th><th>p50</th><th>p90</th><th>p99</th><th>Max</th><th>Status (p90)</th><th>Budget</th></tr>\n");
                 
-                if (metrics.containsKey("domLoadTime")) {
-                    long domLoadTime = ((Number) metrics.get("domLoadTime")).longValue();
-                    String domLoadTimeClass = domLoadTime < 1000 ? "metric-good" : (domLoadTime < 2500 ? "metric-warning" : "metric-bad");
-                    html.append("            <tr><td>DOM Load Time</td><td>").append(domLoadTime).append(" ms</td>")
-                        .append("<td class=\"").append(domLoadTimeClass).append("\">")
-                        .append(domLoadTime < 1000 ? "Good" : (domLoadTime < 2500 ? "Warning" : "Slow"))
-                        .append("</td></tr>\n");
-                }
+                    for (Map.Entry<String, MetricStore.MetricSeries> metric : series.entrySet()) {
+                        appendPercentileRow(html, pageName, metric.getKey(), metric.getValue());
+                    }
                 
-                html.append("        </table>\n");
+                    html.append("        </table>\n");
                 
-                // Resource metrics
-                if (metrics.containsKey("resources")) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> resources = (Map<String, Object>) metrics.get("resources");
+                    // Resource metrics
+                    if (metrics.containsKey("resources")) {
+                        @SuppressWarnings("unchecked")
+                        Map<String, Object> resources = (Map<String, Object>) metrics.get("resources");
                     
-                    html.append("        <h3>Resource Metrics</h3>\n")
-                        .append("        <table>\n")
-                        .append("            <tr><th>Metric</th><th>Value</th></tr>\n")
-                        .append("            <tr><td>Total Resources</td><td>").append(resources.get("totalResources")).append("</td></tr>\n")
-                        .append("            <tr><td>Total Resources Size</td><td>").append(formatBytes(((Number) resources.get("totalResourcesSize")).longValue())).append("</td></tr>\n")
-                        .append("        </table>\n");
+                        html.append("        <h3>Resource Metrics</h3>\n")
+                            .append("        <table>\n")
+                            .append("            <tr><th>Metric</th><th>Value</th></tr>\n")
+                            .append("            <tr><td>Total Resources</td><td>").append(resources.get("totalResources")).append("</td></tr>\n")
+                            .append("            <tr><td>Total Resources Size</td><td>").append(formatBytes(((Number) resources.get("totalResourcesSize")).longValue())).append("</td></tr>\n")
+                            .append("        </table>\n");
                     
-                    // Resource types
-                    if (resources.containsKey("resourcesByType")) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Map<String, Object>> resourcesByType = (Map<String, Map<String, Object>>) resources.get("resourcesByType");
+                        // Resource types
+                        if (resources.containsKey("resourcesByType")) {
+                            @SuppressWarnings("unchecked")
+                            Map<String, Map<String, Object>> resourcesByType = (Map<String, Map<String, Object>>) resources.get("resourcesByType");
                         
-                        html.append("        <h3>Resources by Type</h3>\n")
-                            .append("        <table>\n")
-                            .append("            <tr><th>Type</th><th>Count</th><th>Size</th></tr>\n");
+                            html.append("        <h3>Resources by Type</h3>\n")
+                                .append("        <table>\n")
+                                .append("            <tr><th>Type</th><th>Count</th><th>Size</th></tr>\n");
                         
-                        for (Map.Entry<String, Map<String, Object>> typeEntry : resourcesByType.entrySet()) {
-                            String type = typeEntry.getKey();
-                            Map<String, Object> typeData = typeEntry.getValue();
+                            for (Map.Entry<String, Map<String, Object>> typeEntry : resourcesByType.entrySet()) {
+                                String type = typeEntry.getKey();
+                                Map<String, Object> typeData = typeEntry.getValue();
                             
-                            html.append("            <tr><td>").append(type).append("</td>")
-                                .append("<td>").append(typeData.get("count")).append("</td>")
-                                .append("<td>").append(formatBytes(((Number) typeData.get("size")).longValue())).append("</td></tr>\n");
-                        }
+                                html.append("            <tr><td>").append(escapeHtml(type)).append("</td>")
+                                    .append("<td>").append(typeData.get("count")).append("</td>")
+                                    .append("<td>").append(formatBytes(((Number) typeData.get("size")).longValue())).append("</td></tr>\n");
+                            }
                         
-                        html.append("        </table>\n");
-                    }
+                            html.append("        </table>\n");
+                        }
                     
-                    // Slowest resources
-                    if (resources.containsKey("slowestResources")) {
-                        @SuppressWarnings("unchecked")
-                        Object[] slowestResources = ((Object[]) resources.get("slowestResources"));
+                        // Slowest resources
+                        if (resources.containsKey("slowestResources")) {
+                            List<?> slowestResources = (List<?>) resources.get("slowestResources");
                         
-                        if (slowestResources.length > 0) {
-                            html.append("        <h3>Slowest Resources</h3>\n")
-                                .append("        <table>\n")
-                                .append("            <tr><th>Resource</th><th>Type</th><th>Duration</th><th>Size</th></tr>\n");
+                            if (!slowestResources.isEmpty()) {
+                                html.append("        <h3>Slowest Resources</h3>\n")
+                                    .append("        <table>\n")
+                                    .append("            <tr><th>Resource</th><th>Type</th><th>Duration</th><th>Size</th></tr>\n");
                             
-                            for (Object resource : slowestResources) {
-                                @SuppressWarnings("unchecked")
-                                Map<String, Object> resourceData = (Map<String, Object>) resource;
+                                for (Object resource : slowestResources) {
+                                    @SuppressWarnings("unchecked")
+                                    Map<String, Object> resourceData = (Map<String, Object>) resource;
                                 
-                                html.append("            <tr><td>").append(resourceData.get("name")).append("</td>")
-                                    .append("<td>").append(resourceData.get("type")).append("</td>")
-                                    .append("<td>").append(resourceData.get("duration")).append(" ms</td>")
-                                    .append("<td>").append(formatBytes(((Number) resourceData.get("size")).longValue())).append("</td></tr>\n");
-                            }
+                                    html.append("            <tr><td>").append(escapeHtml(String.valueOf(resourceData.get("name")))).append("</td>")
+                                        .append("<td>").append(escapeHtml(String.valueOf(resourceData.get("type")))).append("</td>")
+                                        .append("<td>").append(resourceData.get("duration")).append(" ms</td>")
+                                        .append("<td>").append(formatBytes(((Number) resourceData.get("size")).longValue())).append("</td></tr>\n");
+                                }
                             
-                            html.append("        </table>\n");
+                                html.append("        </table>\n");
+                            }
                         }
                     }
-                }
                 
-                html.append("    </div>\n");
-            }
+                    appendWaterfall(html, ResourceTimingRecorder.getLastCapture(pageName));
+                
+                    html.append("    </div>\n");
+                    flush(html, writer);
+                }
             
-            html.append("</body>\n")
-                .append("</html>");
+                // Resource statistics across the whole suite
+                Map<String, ResourceTimingRecorder.ResourceStats> domainStats = ResourceTimingRecorder.getDomainStats();
+                if (!domainStats.isEmpty()) {
+                    html.append("    <div class=\"page-section\">\n")
+                        .append("        <h2 class=\"page-title\">Resources Across the Suite</h2>\n");
+                    appendResourceStats(html, "Resources by Domain", "Domain", domainStats);
+                    appendResourceStats(html, "Resources by Type", "Type", ResourceTimingRecorder.getTypeStats());
+                    html.append("    </div>\n");
+                }
             
-            // Write to file
-            Files.write(reportFile, html.toString().getBytes());
+                html.append("</body>\n")
+                    .append("</html>");
+                flush(html, writer);
+            }
             
             logger.info("Performance HTML report generated: {}", reportFile);
             return reportFile.toString();
@@ -217,6 +267,272 @@ public class PerformanceReporter {
         }
     }
 
+    /**
+     * Generates a JSON report of the performance budgets evaluated against all samples of the run.
+     * @param name The report name, e.g. the suite name
+     * @param results The budget results
+     * @return The path to the generated report
+     */
+    public static String generateBudgetReport(String name, List<PerformanceBudget.Result> results) {
+        try {
+            Path reportDir = Paths.get(Constants.REPORT_PATH, "performance");
+            Files.createDirectories(reportDir);
+            
+            String timestamp = DATE_FORMAT.format(new Date());
+            Path reportFile = reportDir.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + "_budgets_" + timestamp + ".json");
+            
+            try (JsonGenerator json = createJsonGenerator(reportFile)) {
+                json.writeStartObject();
+                json.writeStringField("name", name);
+                json.writeStringField("timestamp", timestamp);
+                json.writeNumberField("exceeded", results.stream().filter(result -> !result.isPassed()).count());
+                json.writeArrayFieldStart("budgets");
+                for (PerformanceBudget.Result result : results) {
+                    json.writeObject(result.toSummary());
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            
+            logger.info("Performance budget report generated: {}", reportFile);
+            return reportFile.toString();
+        } catch (IOException e) {
+            logger.error("Failed to generate performance budget report: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Generates a JSON report comparing the run with the previous runs in the performance history.
+     * @param name The report name, e.g. the suite name
+     * @param comparisons The comparisons of the run with its history
+     * @return The path to the generated report
+     */
+    public static String generateRegressionReport(String name, List<RegressionDetector.Comparison> comparisons) {
+        try {
+            Path reportDir = Paths.get(Constants.REPORT_PATH, "performance");
+            Files.createDirectories(reportDir);
+            
+            String timestamp = DATE_FORMAT.format(new Date());
+            Path reportFile = reportDir.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + "_regressions_" + timestamp + ".json");
+            
+            try (JsonGenerator json = createJsonGenerator(reportFile)) {
+                json.writeStartObject();
+                json.writeStringField("name", name);
+                json.writeStringField("runId", PerformanceHistory.getRunId());
+                json.writeStringField("timestamp", timestamp);
+                json.writeNumberField("regressions", comparisons.stream().filter(RegressionDetector.Comparison::isRegression).count());
+                json.writeArrayFieldStart("comparisons");
+                for (RegressionDetector.Comparison comparison : comparisons) {
+                    json.writeObject(comparison.toSummary());
+                }
+                json.writeEndArray();
+                json.writeEndObject();
+            }
+            
+            logger.info("Performance regression report generated: {}", reportFile);
+            return reportFile.toString();
+        } catch (IOException e) {
+            logger.error("Failed to generate performance regression report: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes a finished part of the HTML report and clears the buffer for the next one.
+     * @param html The HTML built since the last flush
+     * @param writer The report writer
+     * @throws IOException if the report cannot be written
+     */
+    private static void flush(StringBuilder html, Writer writer) throws IOException {
+        writer.append(html);
+        html.setLength(0);
+    }
+
+    /**
+     * Appends a table row with the sample count and percentiles of a metric.
+     * Metrics with known thresholds are rated on their p90, so a slow tail is not hidden by a fast median.
+     * Metrics with a performance budget also show the budget and whether the run met it.
+     * @param html The HTML being built
+     * @param page The page name
+     * @param metric The metric name
+     * @param series The samples of the metric
+     */
+    private static void appendPercentileRow(StringBuilder html, String page, String metric, MetricStore.MetricSeries series) {
+        String label = METRIC_LABELS.getOrDefault(metric, metric);
+        String unit = metric.toLowerCase().endsWith("time") || MILLISECOND_METRICS.contains(metric) ? " ms" : "";
+        long p90 = series.getPercentile(90);
+        LatencyHistogram histogram = series.getHistogram();
+        
+        html.append("            <tr><td>").append(label).append("</td>")
+            .append("<td>").append(series.getCount()).append("</td>")
+            .append("<td>").append(series.toDisplay(histogram.getValueAtPercentile(50))).append(unit).append("</td>")
+            .append("<td>").append(series.toDisplay(histogram.getValueAtPercentile(90))).append(unit).append("</td>")
+            .append("<td>").append(series.toDisplay(histogram.getValueAtPercentile(99))).append(unit).append("</td>")
+            .append("<td>").append(series.toDisplay(histogram.getMax())).append(unit).append("</td>");
+        
+        long[] thresholds = THRESHOLDS.get(metric);
+        if (thresholds == null) {
+            html.append("<td></td>");
+        } else {
+            String statusClass = p90 < thresholds[0] ? "metric-good" : (p90 < thresholds[1] ? "metric-warning" : "metric-bad");
+            html.append("<td class=\"").append(statusClass).append("\">")
+                .append(p90 < thresholds[0] ? "Good" : (p90 < thresholds[1] ? "Warning" : "Slow"))
+                .append("</td>");
+        }
+        
+        PerformanceBudget.Limit budget = PerformanceBudget.getConfigured().getLimit(page, metric);
+        if (budget == null) {
+            html.append("<td></td></tr>\n");
+            return;
+        }
+        boolean met = series.getPercentile(budget.getPercentile()) <= budget.getMax();
+        html.append("<td class=\"").append(met ? "metric-good" : "metric-bad").append("\">")
+            .append(escapeHtml(budget.toString())).append(unit).append(met ? " (met)" : " (exceeded)")
+            .append("</td></tr>\n");
+    }
+
+    /**
+     * Appends a waterfall of a page's resource timings, one bar per resource from fetch start to end.
+     * The lighter part of a bar is the time to first byte.
+     * @param html The HTML being built
+     * @param entries The resource entries of the page
+     */
+    private static void appendWaterfall(StringBuilder html, List<ResourceTimingRecorder.ResourceEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<ResourceTimingRecorder.ResourceEntry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingDouble(ResourceTimingRecorder.ResourceEntry::getStartTime));
+        double origin = sorted.get(0).getStartTime();
+        double span = Math.max(1, sorted.stream().mapToDouble(entry -> entry.getStartTime() + entry.getDuration()).max().orElse(1) - origin);
+        
+        html.append("        <h3>Resource Waterfall (").append(sorted.size()).append(" resources, ")
+            .append(Math.round(span)).append(" ms)</h3>\n")
+            .append("        <table class=\"waterfall\">\n")
+            .append("            <tr><th>Resource</th><th>Type</th><th>Start</th><th>Duration</th><th>Size</th><th>Timeline</th></tr>\n");
+        
+        for (ResourceTimingRecorder.ResourceEntry entry : sorted.subList(0, Math.min(sorted.size(), MAX_WATERFALL_ROWS))) {
+            double left = (entry.getStartTime() - origin) / span * 100;
+            double width = entry.getDuration() / span * 100;
+            double wait = entry.getDuration() > 0 ? Math.min(100, entry.getTtfb() / entry.getDuration() * 100) : 0;
+            html.append("            <tr><td class=\"url\" title=\"").append(escapeHtml(entry.getName())).append("\">")
+                .append(escapeHtml(entry.getName())).append("</td>")
+                .append("<td>").append(entry.getType()).append("</td>")
+                .append("<td>").append(Math.round(entry.getStartTime())).append(" ms</td>")
+                .append("<td>").append(Math.round(entry.getDuration())).append(" ms</td>")
+                .append("<td>").append(formatBytes(entry.getTransferSize())).append("</td>")
+                .append("<td class=\"track\"><div class=\"bar\" style=\"")
+                .append(String.format(Locale.ROOT, "left: %.2f%%; width: %.2f%%; background-image: linear-gradient(to right, #9bc3ec %.1f%%, #4a90d9 %.1f%%);", left, width, wait, wait))
+                .append("\"></div></td></tr>\n");
+        }
+        if (sorted.size() > MAX_WATERFALL_ROWS) {
+            html.append("            <tr><td colspan=\"6\">").append(sorted.size() - MAX_WATERFALL_ROWS)
+                .append(" more resources in the resources/*.jsonl files</td></tr>\n");
+        }
+        html.append("        </table>\n");
+    }
+
+    /**
+     * Appends a table of aggregated resource statistics.
+     * @param html The HTML being built
+     * @param title The table heading
+     * @param keyLabel The label of the grouping column
+     * @param stats The statistics by group
+     */
+    private static void appendResourceStats(StringBuilder html, String title, String keyLabel,
+                                            Map<String, ResourceTimingRecorder.ResourceStats> stats) {
+        html.append("        <h3>").append(title).append("</h3>\n")
+            .append("        <table>\n")
+            .append("            <tr><th>").append(keyLabel)
+            .append("</th><th>Count</th><th>Transferred</th><th>p50</th><th>p90</th><th>p99</th><th>Max</th></tr>\n");
+        for (Map.Entry<String, ResourceTimingRecorder.ResourceStats> entry : stats.entrySet()) {
+            LatencyHistogram duration = entry.getValue().getDuration();
+            html.append("            <tr><td>").append(escapeHtml(entry.getKey())).append("</td>")
+                .append("<td>").append(entry.getValue().getCount()).append("</td>")
+                .append("<td>").append(formatBytes(entry.getValue().getTransferSize())).append("</td>")
+                .append("<td>").append(duration.getValueAtPercentile(50)).append(" ms</td>")
+                .append("<td>").append(duration.getValueAtPercentile(90)).append(" ms</td>")
+                .append("<td>").append(duration.getValueAtPercentile(99)).append(" ms</td>")
+                .append("<td>").append(duration.getMax()).append(" ms</td></tr>\n");
+        }
+        html.append("        </table>\n");
+    }
+
+    /**
+     * Creates a pretty-printing JSON generator writing UTF-8 to a file.
+     * @param file The report file
+     * @return The generator, which closes the file when closed
+     * @throws IOException if the file cannot be opened
+     */
+    private static JsonGenerator createJsonGenerator(Path file) throws IOException {
+        return mapper.getFactory().createGenerator(Files.newOutputStream(file), JsonEncoding.UTF8).useDefaultPrettyPrinter();
+    }
+
+    /**
+     * Writes the page attributes and the mean and sample count of every metric, merged across scopes.
+     * This is the content of {@link PerformanceUtils#getAllPerformanceMetrics()}, streamed instead of built.
+     * @param json The JSON generator
+     * @param pages The page metrics by page name
+     * @throws IOException if the report cannot be written
+     */
+    private static void writeMetrics(JsonGenerator json, Map<String, MetricStore.PageMetrics> pages) throws IOException {
+        json.writeStartObject();
+        for (Map.Entry<String, MetricStore.PageMetrics> page : pages.entrySet()) {
+            json.writeObjectFieldStart(page.getKey());
+            for (Map.Entry<String, Object> attribute : page.getValue().getAttributes().entrySet()) {
+                json.writeObjectField(attribute.getKey(), attribute.getValue());
+            }
+            Map<String, MetricStore.MetricSeries> series = page.getValue().getSeries();
+            for (Map.Entry<String, MetricStore.MetricSeries> metric : series.entrySet()) {
+                json.writeNumberField(metric.getKey(), Math.round(metric.getValue().getMean()));
+            }
+            json.writeObjectFieldStart("samples");
+            for (Map.Entry<String, MetricStore.MetricSeries> metric : series.entrySet()) {
+                json.writeNumberField(metric.getKey(), metric.getValue().getCount());
+            }
+            json.writeEndObject();
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    /**
+     * Writes the summary of every metric of the given pages: count, mean, min, p50, p90, p99 and max.
+     * @param json The JSON generator
+     * @param pages The page metrics by page name
+     * @throws IOException if the report cannot be written
+     */
+    private static void writePages(JsonGenerator json, Map<String, MetricStore.PageMetrics> pages) throws IOException {
+        json.writeStartObject();
+        for (Map.Entry<String, MetricStore.PageMetrics> page : pages.entrySet()) {
+            json.writeObjectFieldStart(page.getKey());
+            for (Map.Entry<String, MetricStore.MetricSeries> metric : page.getValue().getSeries().entrySet()) {
+                json.writeObjectField(metric.getKey(), metric.getValue().toSummary());
+            }
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    /**
+     * Writes aggregated resource statistics by group.
+     * @param json The JSON generator
+     * @param stats The statistics by group
+     * @throws IOException if the report cannot be written
+     */
+    private static void writeResourceStats(JsonGenerator json, Map<String, ResourceTimingRecorder.ResourceStats> stats) throws IOException {
+        json.writeStartObject();
+        for (Map.Entry<String, ResourceTimingRecorder.ResourceStats> entry : stats.entrySet()) {
+            json.writeObjectField(entry.getKey(), entry.getValue().toSummary());
+        }
+        json.writeEndObject();
+    }
+
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
     /**
      * Formats bytes into a human-readable format.
      * @param bytes The number of bytes
@@ -0,0 +1,193 @@
+package com.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handle for one running time measurement, backed by the monotonic {@link System#nanoTime()} clock.
+ * Timers are started with {@link PerformanceUtils#startTimer(String)} and record their duration into the
+ * {@link MetricStore} when stopped, so they work with try-with-resources:
+ * <pre>
+ * try (PerformanceTimer timer = PerformanceUtils.startTimer("Login")) {
+ *     loginPage.login(username, password);
+ * }
+ * </pre>
+ * A timer started while another one is open on the same thread becomes its child, so nested measurements
+ * form a tree. Each handle is independent, so threads timing the same page never overwrite each other.
+ * While tracing is enabled every timer is also a "timer" span in the {@link Tracer}.
+ */
+public final class PerformanceTimer implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(PerformanceTimer.class);
+    private static final ThreadLocal<PerformanceTimer> current = new ThreadLocal<>();
+
+    private final String name;
+    private final String metric;
+    private final String scope;
+    private final PerformanceTimer parent;
+    private final Tracer.Span span;
+    private final long startNanos;
+    private long endNanos;
+    private boolean stopped;
+
+    PerformanceTimer(String name, String metric, String scope) {
+        this.name = name;
+        this.metric = metric;
+        this.scope = scope;
+        this.parent = current.get();
+        current.set(this);
+        this.span = Tracer.startSpan(name, "timer").setAttribute("metric", metric);
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets the innermost timer that is still running on the current thread.
+     * @return The timer, or null if none is running
+     */
+    public static PerformanceTimer current() {
+        return current.get();
+    }
+
+    /**
+     * Forgets the running timers of the current thread without recording them, e.g. at the end of a test.
+     */
+    static void resetCurrentThread() {
+        current.remove();
+    }
+
+    /**
+     * Stops the timer and records its duration in microseconds, so sub-millisecond operations keep their
+     * resolution; reports still show milliseconds. Stopping an already stopped timer has no effect.
+     * @return The elapsed time in milliseconds
+     */
+    public long stop() {
+        if (finish()) {
+            long micros = getElapsedMicros();
+            MetricStore.getInstance().recordMicros(scope, name, metric, micros);
+            logger.debug("{} for {}: {} us", metric, getPath(), micros);
+        }
+        span.end();
+        return getElapsedMillis();
+    }
+
+    /**
+     * Stops the timer without recording it, e.g. when the measured operation failed.
+     */
+    public void cancel() {
+        if (finish()) {
+            logger.debug("Cancelled timer for {}", getPath());
+        }
+        span.setAttribute("cancelled", true).end();
+    }
+
+    /**
+     * Stops the timer and records its duration.
+     */
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * Gets the elapsed time, measured up to now while the timer is running.
+     * @return The elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return (stopped ? endNanos : System.nanoTime()) - startNanos;
+    }
+
+    /**
+     * Gets the elapsed time, measured up to now while the timer is running.
+     * @return The elapsed time in microseconds
+     */
+    public long getElapsedMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(getElapsedNanos());
+    }
+
+    /**
+     * Gets the elapsed time, measured up to now while the timer is running.
+     * @return The elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getElapsedNanos());
+    }
+
+    /**
+     * Gets the {@link System#nanoTime()} value at which the timer started.
+     * @return The start time in nanoseconds
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Gets the name of the measured page or operation.
+     * @return The name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the metric the duration is recorded as.
+     * @return The metric name
+     */
+    public String getMetric() {
+        return metric;
+    }
+
+    /**
+     * Gets the timer that was running on the same thread when this one started.
+     * @return The parent timer, or null for a top-level timer
+     */
+    public PerformanceTimer getParent() {
+        return parent;
+    }
+
+    /**
+     * Gets the nesting depth of the timer.
+     * @return 0 for a top-level timer, 1 for its children and so on
+     */
+    public int getDepth() {
+        return parent == null ? 0 : parent.getDepth() + 1;
+    }
+
+    /**
+     * Gets the names of the enclosing timers and this one, separated by " > ".
+     * @return The path of the timer
+     */
+    public String getPath() {
+        return parent == null ? name : parent.getPath() + " > " + name;
+    }
+
+    /**
+     * Checks whether the timer has been stopped or cancelled.
+     * @return true if the timer is stopped
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    private boolean finish() {
+        if (stopped) {
+            return false;
+        }
+        endNanos = System.nanoTime();
+        stopped = true;
+        if (current.get() == this) {
+            // Skip parents that were closed out of order
+            PerformanceTimer open = parent;
+            while (open != null && open.stopped) {
+                open = open.parent;
+            }
+            if (open == null) {
+                current.remove();
+            } else {
+                current.set(open);
+            }
+        }
+        return true;
+    }
+}
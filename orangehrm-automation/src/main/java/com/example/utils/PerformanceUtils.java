@@ -7,26 +7,84 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.TreeMap;
 
 /**
  * Utility class for measuring and reporting performance metrics.
  * This class provides methods to capture page load times, resource timing, and other performance metrics.
+ * Samples are recorded in the {@link MetricStore} under the current thread's scope, so parallel tests
+ * measuring the same page keep separate, complete sample sets.
  */
 public class PerformanceUtils {
 
     private static final Logger logger = LogManager.getLogger(PerformanceUtils.class);
-    private static final Map<String, Long> pageLoadTimes = new HashMap<>();
-    private static final Map<String, Map<String, Object>> performanceMetrics = new HashMap<>();
+    private static final MetricStore metricStore = MetricStore.getInstance();
+    private static final ThreadLocal<String> currentScope = ThreadLocal.withInitial(() -> MetricStore.GLOBAL_SCOPE);
+    private static final ThreadLocal<Map<String, PerformanceTimer>> pageLoadTimes = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Starts a metric scope on the current thread, typically named after the running test.
+     * @param scope The scope name
+     */
+    public static void beginScope(String scope) {
+        currentScope.set(scope);
+        pageLoadTimes.get().clear();
+        PerformanceTimer.resetCurrentThread();
+        Tracer.resetCurrentThread();
+    }
+
+    /**
+     * Ends the metric scope of the current thread. Later samples go to the global scope.
+     */
+    public static void endScope() {
+        currentScope.remove();
+        pageLoadTimes.remove();
+        PerformanceTimer.resetCurrentThread();
+        Tracer.resetCurrentThread();
+    }
+
+    /**
+     * Gets the metric scope of the current thread.
+     * @return The scope name
+     */
+    public static String getCurrentScope() {
+        return currentScope.get();
+    }
+
+    /**
+     * Starts a timer that records its duration as "executionTime" when stopped.
+     * @param name The name of the page or operation being measured
+     * @return The running timer
+     */
+    public static PerformanceTimer startTimer(String name) {
+        return startTimer(name, "executionTime");
+    }
+
+    /**
+     * Starts a timer that records its duration under the given metric when stopped.
+     * @param name The name of the page or operation being measured
+     * @param metric The metric name, e.g. "loadTime"
+     * @return The running timer
+     */
+    public static PerformanceTimer startTimer(String name, String metric) {
+        return new PerformanceTimer(name, metric, getCurrentScope());
+    }
 
     /**
      * Starts measuring page load time.
      * @param pageName The name of the page being loaded
      */
     public static void startPageLoadTimer(String pageName) {
-        pageLoadTimes.put(pageName, System.currentTimeMillis());
+        PerformanceTimer previous = pageLoadTimes.get().put(pageName, startTimer(pageName, "loadTime"));
+        if (previous != null) {
+            previous.cancel();
+        }
         logger.debug("Started page load timer for: {}", pageName);
     }
 
@@ -36,25 +94,22 @@ public class PerformanceUtils {
      * @return The page load time in milliseconds
      */
     public static long stopPageLoadTimer(String pageName) {
-        Long startTime = pageLoadTimes.get(pageName);
-        if (startTime == null) {
+        PerformanceTimer timer = pageLoadTimes.get().remove(pageName);
+        if (timer == null) {
             logger.warn("No start time found for page: {}", pageName);
             return -1;
         }
         
-        long loadTime = System.currentTimeMillis() - startTime;
+        // Stopping records the load time in the metric store
+        long loadTime = timer.stop();
         logger.info("Page load time for {}: {} ms", pageName, loadTime);
         
-        // Store in metrics map
-        Map<String, Object> metrics = performanceMetrics.getOrDefault(pageName, new HashMap<>());
-        metrics.put("loadTime", loadTime);
-        performanceMetrics.put(pageName, metrics);
-        
         return loadTime;
     }
 
     /**
      * Captures browser performance metrics using the Navigation Timing API.
+     * Level 2 navigation entries are used where available, falling back to the deprecated performance.timing.
      * @param driver The WebDriver instance
      * @param pageName The name of the page
      * @return A map of performance metrics
@@ -70,6 +125,19 @@ public class PerformanceUtils {
             JavascriptExecutor js = (JavascriptExecutor) driver;
             Map<String, Object> timingData = (Map<String, Object>) js.executeScript(
                     "var performance = window.performance || window.webkitPerformance || window.mozPerformance || window.msPerformance || {}; " +
+                    "var nav = performance.getEntriesByType ? performance.getEntriesByType('navigation')[0] : null; " +
+                    "if (nav) { " +
+                    "    return { " +
+                    "        'navigationStart': Math.round(performance.timeOrigin), " +
+                    "        'redirectTime': nav.redirectEnd - nav.redirectStart, " +
+                    "        'dnsTime': nav.domainLookupEnd - nav.domainLookupStart, " +
+                    "        'connectTime': nav.connectEnd - nav.connectStart, " +
+                    "        'responseTime': nav.responseEnd - nav.responseStart, " +
+                    "        'domLoadTime': nav.domComplete - nav.responseEnd, " +
+                    "        'loadEventTime': nav.loadEventEnd - nav.loadEventStart, " +
+                    "        'totalTime': nav.loadEventEnd - nav.startTime " +
+                    "    }; " +
+                    "} " +
                     "var timings = performance.timing || {}; " +
                     "return { " +
                     "    'navigationStart': timings.navigationStart, " +
@@ -85,10 +153,8 @@ public class PerformanceUtils {
             // Log the metrics
             logger.info("Performance metrics for {}: {}", pageName, timingData);
             
-            // Store in metrics map
-            Map<String, Object> metrics = performanceMetrics.getOrDefault(pageName, new HashMap<>());
-            metrics.putAll(timingData);
-            performanceMetrics.put(pageName, metrics);
+            // Store in metric store
+            recordAll(pageName, timingData);
             
             return timingData;
         } catch (Exception e) {
@@ -97,61 +163,80 @@ public class PerformanceUtils {
         }
     }
 
+    /**
+     * Captures Navigation Timing Level 2 metrics, first contentful paint and Core Web Vitals
+     * (LCP, CLS, long tasks, total blocking time and INP) of the current page.
+     * @param driver The WebDriver instance
+     * @param pageName The name of the page
+     * @return A map of metrics, see {@link WebVitalsCollector#collect(WebDriver)}
+     */
+    public static Map<String, Object> captureWebVitals(WebDriver driver, String pageName) {
+        Map<String, Object> vitals = WebVitalsCollector.collect(driver);
+        if (!vitals.isEmpty()) {
+            logger.info("Web vitals for {}: FCP={} LCP={} CLS={} INP={} TBT={}", pageName, vitals.get("fcp"),
+                    vitals.get("lcp"), vitals.get("cls"), vitals.get("inp"), vitals.get("totalBlockingTime"));
+            recordAll(pageName, vitals);
+        }
+        return vitals;
+    }
+
     /**
      * Captures resource timing information for the page.
+     * The summary covers every resource of the current document, so its totals are per page load, and has the
+     * total count and size, the count and size per type and the five slowest resources over 500 ms.
+     * New entries are kept by the {@link ResourceTimingRecorder}.
      * @param driver The WebDriver instance
      * @param pageName The name of the page
      * @return A map of resource timing information
      */
     public static Map<String, Object> captureResourceTiming(WebDriver driver, String pageName) {
         try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            Map<String, Object> resourceData = (Map<String, Object>) js.executeScript(
-                    "var performance = window.performance || window.webkitPerformance || window.mozPerformance || window.msPerformance || {}; " +
-                    "var resources = performance.getEntriesByType('resource'); " +
-                    "var result = { " +
-                    "    'totalResources': resources.length, " +
-                    "    'totalResourcesSize': 0, " +
-                    "    'slowestResources': [], " +
-                    "    'resourcesByType': {} " +
-                    "}; " +
-                    "resources.forEach(function(resource) { " +
-                    "    // Calculate size if available " +
-                    "    var size = resource.transferSize || 0; " +
-                    "    result.totalResourcesSize += size; " +
-                    "    " +
-                    "    // Group by initiatorType " +
-                    "    var type = resource.initiatorType || 'other'; " +
-                    "    if (!result.resourcesByType[type]) { " +
-                    "        result.resourcesByType[type] = { count: 0, size: 0 }; " +
-                    "    } " +
-                    "    result.resourcesByType[type].count++; " +
-                    "    result.resourcesByType[type].size += size; " +
-                    "    " +
-                    "    // Track slow resources " +
-                    "    if (resource.duration > 500) { " +
-                    "        result.slowestResources.push({ " +
-                    "            name: resource.name, " +
-                    "            duration: resource.duration, " +
-                    "            size: size, " +
-                    "            type: type " +
-                    "        }); " +
-                    "    } " +
-                    "}); " +
-                    "// Sort slowest resources " +
-                    "result.slowestResources.sort(function(a, b) { return b.duration - a.duration; }); " +
-                    "// Limit to top 5 " +
-                    "result.slowestResources = result.slowestResources.slice(0, 5); " +
-                    "return result;");
+            List<ResourceTimingRecorder.ResourceEntry> entries = ResourceTimingRecorder.capture(driver, pageName);
+            
+            long totalSize = 0;
+            Map<String, Map<String, Object>> resourcesByType = new TreeMap<>();
+            for (ResourceTimingRecorder.ResourceEntry entry : entries) {
+                totalSize += entry.getTransferSize();
+                Map<String, Object> typeData = resourcesByType.computeIfAbsent(entry.getType(), type -> {
+                    Map<String, Object> data = new LinkedHashMap<>();
+                    data.put("count", 0L);
+                    data.put("size", 0L);
+                    return data;
+                });
+                typeData.put("count", (Long) typeData.get("count") + 1);
+                typeData.put("size", (Long) typeData.get("size") + entry.getTransferSize());
+            }
+            
+            // Track the five slowest resources over 500 ms
+            List<Map<String, Object>> slowestResources = new ArrayList<>();
+            entries.stream()
+                    .filter(entry -> entry.getDuration() > 500)
+                    .sorted(Comparator.comparingDouble(ResourceTimingRecorder.ResourceEntry::getDuration).reversed())
+                    .limit(5)
+                    .forEach(entry -> {
+                        Map<String, Object> resource = new LinkedHashMap<>();
+                        resource.put("name", entry.getName());
+                        resource.put("duration", entry.getDuration());
+                        resource.put("size", entry.getTransferSize());
+                        resource.put("type", entry.getType());
+                        slowestResources.add(resource);
+                    });
+            
+            Map<String, Object> resourceData = new LinkedHashMap<>();
+            resourceData.put("totalResources", entries.size());
+            resourceData.put("totalResourcesSize", totalSize);
+            resourceData.put("slowestResources", slowestResources);
+            resourceData.put("resourcesByType", resourcesByType);
             
             // Log the resource data
             logger.info("Resource timing for {}: Total resources: {}, Total size: {} bytes", 
                     pageName, resourceData.get("totalResources"), resourceData.get("totalResourcesSize"));
             
-            // Store in metrics map
-            Map<String, Object> metrics = performanceMetrics.getOrDefault(pageName, new HashMap<>());
-            metrics.put("resources", resourceData);
-            performanceMetrics.put(pageName, metrics);
+            // Store in metric store
+            String scope = getCurrentScope();
+            metricStore.putAttribute(scope, pageName, "resources", resourceData);
+            recordNumber(scope, pageName, "totalResources", resourceData.get("totalResources"));
+            recordNumber(scope, pageName, "totalResourcesSize", resourceData.get("totalResourcesSize"));
             
             return resourceData;
         } catch (Exception e) {
@@ -161,19 +246,41 @@ public class PerformanceUtils {
     }
 
     /**
-     * Gets all performance metrics collected during the test run.
+     * Gets all performance metrics collected during the test run, merged across scopes.
+     * Numeric metrics are reported as the mean of their samples and "samples" maps each metric to its sample count.
      * @return A map of all performance metrics
      */
     public static Map<String, Map<String, Object>> getAllPerformanceMetrics() {
-        return performanceMetrics;
+        Map<String, Map<String, Object>> allMetrics = new LinkedHashMap<>();
+        for (Map.Entry<String, MetricStore.PageMetrics> page : metricStore.aggregateByPage().entrySet()) {
+            Map<String, Object> metrics = new LinkedHashMap<>(page.getValue().getAttributes());
+            Map<String, Long> samples = new LinkedHashMap<>();
+            for (Map.Entry<String, MetricStore.MetricSeries> series : page.getValue().getSeries().entrySet()) {
+                metrics.put(series.getKey(), Math.round(series.getValue().getMean()));
+                samples.put(series.getKey(), series.getValue().getCount());
+            }
+            metrics.put("samples", samples);
+            allMetrics.put(page.getKey(), metrics);
+        }
+        return allMetrics;
+    }
+
+    /**
+     * Gets the performance metrics recorded in one scope.
+     * @param scope The scope name, e.g. the qualified test name
+     * @return The page metrics of the scope
+     */
+    public static Map<String, MetricStore.PageMetrics> getScopeMetrics(String scope) {
+        return metricStore.getScope(scope);
     }
 
     /**
      * Clears all collected performance metrics.
      */
     public static void clearPerformanceMetrics() {
-        pageLoadTimes.clear();
-        performanceMetrics.clear();
+        pageLoadTimes.get().clear();
+        metricStore.clear();
+        ResourceTimingRecorder.clear();
     }
 
     /**
@@ -182,13 +289,30 @@ public class PerformanceUtils {
      * @param runnable The code to execute
      */
     public static void measureExecutionTime(String operationName, Runnable runnable) {
-        long startTime = System.nanoTime();
+        PerformanceTimer timer = startTimer(operationName);
         try {
             runnable.run();
         } finally {
-            long endTime = System.nanoTime();
-            long duration = TimeUnit.NANOSECONDS.toMillis(endTime - startTime);
+            long duration = timer.stop();
             logger.info("Execution time for {}: {} ms", operationName, duration);
         }
     }
+
+    private static void recordAll(String pageName, Map<String, Object> values) {
+        String scope = getCurrentScope();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            // Absolute timestamps are kept as attributes; only durations are sampled
+            if (entry.getValue() instanceof Number && !"navigationStart".equals(entry.getKey())) {
+                recordNumber(scope, pageName, entry.getKey(), entry.getValue());
+            } else if (entry.getValue() != null) {
+                metricStore.putAttribute(scope, pageName, entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static void recordNumber(String scope, String pageName, String metric, Object value) {
+        if (value instanceof Number) {
+            metricStore.record(scope, pageName, metric, Math.round(((Number) value).doubleValue()));
+        }
+    }
 }
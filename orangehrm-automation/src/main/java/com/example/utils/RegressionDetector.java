@@ -0,0 +1,289 @@
+package com.example.utils;
+
+import com.example.config.ConfigReader;
+import com.example.config.ConfigSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Detects statistically significant slowdowns of the current run against the previous runs in the
+ * {@link PerformanceHistory}. For every page and metric the current samples are compared with the pooled samples
+ * of the last "performance_regression_baseline_runs" runs (default 10) with a one-sided Mann-Whitney U test,
+ * which makes no assumption about the shape of the distributions and is not thrown off by a few outliers.
+ * A metric is flagged when the test is significant at "performance_regression_alpha" (default 0.01) and its median
+ * rose by at least "performance_regression_min_change" (default 0.1, i.e. 10%), so that tiny but consistent
+ * shifts are not reported. Higher values are treated as worse for every metric.
+ * The p-value uses the normal approximation with tie and continuity correction, so both sides need at least
+ * {@link #MIN_SAMPLES} samples.
+ */
+public final class RegressionDetector {
+
+    /** The minimum number of samples in the current run and in the baseline. */
+    public static final int MIN_SAMPLES = 3;
+
+    private static final Logger logger = LogManager.getLogger(RegressionDetector.class);
+
+    private final int baselineRuns;
+    private final double alpha;
+    private final double minChange;
+
+    /**
+     * Constructor for the RegressionDetector.
+     * @param baselineRuns The number of previous runs to compare with
+     * @param alpha The significance level
+     * @param minChange The minimum relative increase of the median, e.g. 0.1 for 10%
+     * @throws IllegalArgumentException if baselineRuns is below 1, alpha is not between 0 and 1 or minChange is negative
+     */
+    public RegressionDetector(int baselineRuns, double alpha, double minChange) {
+        if (baselineRuns < 1) {
+            throw new IllegalArgumentException("Baseline runs must be at least 1: " + baselineRuns);
+        }
+        if (!(alpha > 0 && alpha < 1)) {
+            throw new IllegalArgumentException("Significance level must be between 0 and 1: " + alpha);
+        }
+        if (!(minChange >= 0) || Double.isInfinite(minChange)) {
+            throw new IllegalArgumentException("Minimum change must be a non-negative number: " + minChange);
+        }
+        this.baselineRuns = baselineRuns;
+        this.alpha = alpha;
+        this.minChange = minChange;
+    }
+
+    /**
+     * Creates a detector from the "performance_regression_*" configuration.
+     * @return The configured detector
+     * @throws IllegalArgumentException if a setting is not a number or out of range
+     */
+    public static RegressionDetector fromConfig() {
+        ConfigSnapshot config = ConfigReader.getSnapshot();
+        return new RegressionDetector(
+                config.getInt("performance_regression_baseline_runs", 10, 1),
+                config.getDouble("performance_regression_alpha", 0.01),
+                config.getDouble("performance_regression_min_change", 0.1));
+    }
+
+    /**
+     * Compares every page and metric of the store with its history.
+     * @param history The history of previous runs
+     * @param store The metric store with the current run
+     * @param runId The id of the current run, left out of the baseline
+     * @return The comparisons that had enough samples, regressions first
+     */
+    public List<Comparison> detect(PerformanceHistory history, MetricStore store, String runId) {
+        List<Comparison> regressions = new ArrayList<>();
+        List<Comparison> others = new ArrayList<>();
+        for (Map.Entry<String, MetricStore.PageMetrics> page : store.aggregateByPage().entrySet()) {
+            for (Map.Entry<String, MetricStore.MetricSeries> metric : page.getValue().getSeries().entrySet()) {
+                NavigableMap<Long, Long> current = metric.getValue().getHistogram().getBuckets();
+                int scale = metric.getValue().getScale();
+                List<PerformanceHistory.Run> runs = history.read(page.getKey(), metric.getKey(), baselineRuns, runId);
+                NavigableMap<Long, Long> baseline = new TreeMap<>();
+                // Runs may have recorded the metric at another scale, e.g. before timers recorded microseconds
+                runs.forEach(run -> run.getValues(scale).forEach((value, count) -> baseline.merge(value, count, Long::sum)));
+                if (count(current) < MIN_SAMPLES || count(baseline) < MIN_SAMPLES) {
+                    logger.debug("Not enough samples to compare {} {} with its history", page.getKey(), metric.getKey());
+                    continue;
+                }
+
+                Comparison comparison = new Comparison(page.getKey(), metric.getKey(), scale, runs.size(),
+                        count(baseline), count(current), median(baseline), median(current), pValue(baseline, current));
+                if (comparison.getPValue() < alpha && comparison.getChange() >= minChange) {
+                    comparison.regression = true;
+                    regressions.add(comparison);
+                } else {
+                    others.add(comparison);
+                }
+            }
+        }
+        regressions.addAll(others);
+        return regressions;
+    }
+
+    /**
+     * Computes the one-sided Mann-Whitney U test p-value for the current samples being larger than the baseline.
+     * Equal values share their average rank; the variance is corrected for these ties.
+     * @param baseline The baseline samples as value to count
+     * @param current The current samples as value to count
+     * @return The p-value, 1 if the samples cannot be told apart
+     */
+    public static double pValue(NavigableMap<Long, Long> baseline, NavigableMap<Long, Long> current) {
+        double n1 = count(baseline);
+        double n2 = count(current);
+        double n = n1 + n2;
+        if (n1 == 0 || n2 == 0) {
+            return 1;
+        }
+
+        NavigableMap<Long, long[]> combined = new TreeMap<>();
+        baseline.forEach((value, count) -> combined.computeIfAbsent(value, key -> new long[2])[0] += count);
+        current.forEach((value, count) -> combined.computeIfAbsent(value, key -> new long[2])[1] += count);
+
+        double rankSum = 0;
+        double ties = 0;
+        double below = 0;
+        for (long[] counts : combined.values()) {
+            double tied = counts[0] + counts[1];
+            rankSum += counts[1] * (below + (tied + 1) / 2);
+            ties += tied * tied * tied - tied;
+            below += tied;
+        }
+
+        double u = rankSum - n2 * (n2 + 1) / 2;
+        double variance = n1 * n2 / 12 * ((n + 1) - ties / (n * (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        double z = (u - n1 * n2 / 2 - 0.5) / Math.sqrt(variance);
+        return 1 - normalCdf(z);
+    }
+
+    private static long count(NavigableMap<Long, Long> values) {
+        return values.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static long median(NavigableMap<Long, Long> values) {
+        long target = (count(values) + 1) / 2;
+        long cumulative = 0;
+        for (Map.Entry<Long, Long> entry : values.entrySet()) {
+            cumulative += entry.getValue();
+            if (cumulative >= target) {
+                return entry.getKey();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Standard normal cumulative distribution, using the Abramowitz and Stegun 7.1.26 approximation of erf
+     * (absolute error below 1.5e-7).
+     */
+    private static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - ((((1.061405429 * t - 1.453152027) * t + 1.421413741) * t - 0.284496736) * t + 0.254829592)
+                * t * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    /**
+     * The comparison of one page's metric between the current run and its baseline.
+     */
+    public static final class Comparison {
+        private final String page;
+        private final String metric;
+        private final int scale;
+        private final int baselineRuns;
+        private final long baselineSamples;
+        private final long currentSamples;
+        private final long baselineMedian;
+        private final long currentMedian;
+        private final double pValue;
+        private boolean regression;
+
+        private Comparison(String page, String metric, int scale, int baselineRuns, long baselineSamples,
+                           long currentSamples, long baselineMedian, long currentMedian, double pValue) {
+            this.page = page;
+            this.metric = metric;
+            this.scale = scale;
+            this.baselineRuns = baselineRuns;
+            this.baselineSamples = baselineSamples;
+            this.currentSamples = currentSamples;
+            this.baselineMedian = baselineMedian;
+            this.currentMedian = currentMedian;
+            this.pValue = pValue;
+        }
+
+        /**
+         * Gets the page name.
+         * @return The page name
+         */
+        public String getPage() {
+            return page;
+        }
+
+        /**
+         * Gets the metric name.
+         * @return The metric name
+         */
+        public String getMetric() {
+            return metric;
+        }
+
+        /**
+         * Gets the median of the baseline runs.
+         * @return The baseline median, in the metric's recording unit (see {@link MetricStore.MetricSeries#getScale()})
+         */
+        public long getBaselineMedian() {
+            return baselineMedian;
+        }
+
+        /**
+         * Gets the median of the current run.
+         * @return The current median, in the metric's recording unit
+         */
+        public long getCurrentMedian() {
+            return currentMedian;
+        }
+
+        /**
+         * Gets the relative change of the median.
+         * @return The change, e.g. 0.25 for 25% slower; infinite if the baseline median is 0 and the current is not
+         */
+        public double getChange() {
+            if (baselineMedian == 0) {
+                return currentMedian == 0 ? 0 : Double.POSITIVE_INFINITY;
+            }
+            return (double) (currentMedian - baselineMedian) / baselineMedian;
+        }
+
+        /**
+         * Gets the one-sided Mann-Whitney p-value.
+         * @return The p-value
+         */
+        public double getPValue() {
+            return pValue;
+        }
+
+        /**
+         * Checks whether the metric regressed significantly.
+         * @return true if the current run is significantly slower than the baseline
+         */
+        public boolean isRegression() {
+            return regression;
+        }
+
+        /**
+         * Summarises the comparison for reports.
+         * @return A map with page, metric, baseline and current sample counts and medians, change, pValue and regression
+         */
+        public Map<String, Object> toSummary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("page", page);
+            summary.put("metric", metric);
+            summary.put("baselineRuns", baselineRuns);
+            summary.put("baselineSamples", baselineSamples);
+            summary.put("currentSamples", currentSamples);
+            summary.put("baselineMedian", MetricStore.toDisplay(baselineMedian, scale));
+            summary.put("currentMedian", MetricStore.toDisplay(currentMedian, scale));
+            summary.put("change", Double.isInfinite(getChange()) ? null : Math.round(getChange() * 1000) / 1000.0);
+            summary.put("pValue", pValue);
+            summary.put("regression", regression);
+            return summary;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s %s median %s -> %s (%+.1f%%, p=%.4f, %d vs %d samples)",
+                    page, metric, MetricStore.toDisplay(baselineMedian, scale), MetricStore.toDisplay(currentMedian, scale),
+                    getChange() * 100, pValue, currentSamples, baselineSamples);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.example.utils;
+
+import com.example.config.ConfigReader;
+import com.example.config.Constants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Captures every Resource Timing entry of a page instead of a summary.
+ * The browser's resource timing buffer is raised to "resource_timing_buffer_size" entries (default 1500) and
+ * entries that still overflow it are saved in the page, so nothing is dropped. Each capture returns every entry
+ * of the current document, so totals are per page load (for client-side route changes, since the document loaded)
+ * whenever it is captured. Only the entries not captured before are appended in compact column form to
+ * {@code target/reports/performance/resources/<page>.jsonl} and added to suite-wide per-domain and per-type
+ * statistics; the page keeps the count already captured. The last capture of each page is kept for the report's
+ * waterfall.
+ */
+public class ResourceTimingRecorder {
+
+    private static final Logger logger = LogManager.getLogger(ResourceTimingRecorder.class);
+    private static final String[] COLUMNS = {"name", "type", "startTime", "duration", "ttfb", "transferSize", "decodedBodySize", "protocol"};
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final Map<String, List<ResourceEntry>> lastCaptures = new ConcurrentHashMap<>();
+    private static final Map<String, ResourceStats> domainStats = new ConcurrentHashMap<>();
+    private static final Map<String, ResourceStats> typeStats = new ConcurrentHashMap<>();
+    private static final Map<Path, Object> fileLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the number of entries captured before and all entries of the document in compact form (see COLUMNS).
+     * Overflowed entries are saved ahead of the buffer, so the list only ever grows at the end.
+     * Runs after the buffer script, so a document that was not set up on navigation gets the larger buffer here.
+     */
+    private static final String CAPTURE_SCRIPT =
+            "var round = function (value) { return Math.round(value * 10) / 10; }; " +
+            "var entries = (window.__orangehrmResources || []).concat(performance.getEntriesByType('resource')); " +
+            "var captured = Math.min(window.__orangehrmCaptured || 0, entries.length); " +
+            "window.__orangehrmCaptured = entries.length; " +
+            "return [captured, entries.map(function (entry) { " +
+            "    return [entry.name, entry.initiatorType || 'other', round(entry.startTime), round(entry.duration), " +
+            "            entry.responseStart > 0 ? round(entry.responseStart - entry.startTime) : 0, " +
+            "            entry.transferSize || 0, entry.decodedBodySize || 0, entry.nextHopProtocol || '']; " +
+            "})];";
+
+    /**
+     * Builds the script that raises the resource timing buffer once per document and saves entries that overflow it.
+     * @return The script
+     * @throws IllegalArgumentException if "resource_timing_buffer_size" is not a positive integer
+     */
+    private static String bufferScript() {
+        int bufferSize = ConfigReader.getSnapshot().getInt("resource_timing_buffer_size", 1500, 1);
+        return "(function () { " +
+                "    if (window.__orangehrmResources || !performance.setResourceTimingBufferSize) { return; } " +
+                "    var saved = window.__orangehrmResources = []; " +
+                "    performance.setResourceTimingBufferSize(" + bufferSize + "); " +
+                "    performance.addEventListener('resourcetimingbufferfull', function () { " +
+                "        Array.prototype.push.apply(saved, performance.getEntriesByType('resource')); " +
+                "        performance.clearResourceTimings(); " +
+                "    }); " +
+                "})();";
+    }
+
+    /**
+     * Raises the resource timing buffer for every document the browser loads from now on.
+     * Only Chromium browsers support this; other browsers get the larger buffer from the first capture on.
+     * @param driver The WebDriver instance
+     * @return true if the buffer is raised at the start of every navigation
+     */
+    public static boolean install(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            return false;
+        }
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("source", bufferScript());
+        try {
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", parameters);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to raise the resource timing buffer: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Captures every resource entry of the current document. Entries not captured before are streamed to the
+     * page's resource file and added to the suite statistics.
+     * @param driver The WebDriver instance
+     * @param pageName The name of the page
+     * @return All entries of the document, in the order they were recorded
+     */
+    @SuppressWarnings("unchecked")
+    public static List<ResourceEntry> capture(WebDriver driver, String pageName) {
+        List<Object> result = (List<Object>) ((JavascriptExecutor) driver).executeScript(bufferScript() + CAPTURE_SCRIPT);
+        int captured = ((Number) result.get(0)).intValue();
+        List<List<Object>> rows = (List<List<Object>>) result.get(1);
+        List<ResourceEntry> entries = new ArrayList<>(rows.size());
+        for (List<Object> row : rows) {
+            entries.add(new ResourceEntry(row));
+        }
+
+        List<ResourceEntry> added = entries.subList(captured, entries.size());
+        for (ResourceEntry entry : added) {
+            domainStats.computeIfAbsent(entry.getDomain(), name -> new ResourceStats()).add(entry);
+            typeStats.computeIfAbsent(entry.getType(), name -> new ResourceStats()).add(entry);
+        }
+        lastCaptures.put(pageName, Collections.unmodifiableList(entries));
+        write(pageName, added);
+        return entries;
+    }
+
+    /**
+     * Gets the entries of the most recent capture of a page, in any scope.
+     * @param pageName The name of the page
+     * @return The entries, empty if the page was never captured
+     */
+    public static List<ResourceEntry> getLastCapture(String pageName) {
+        return lastCaptures.getOrDefault(pageName, Collections.emptyList());
+    }
+
+    /**
+     * Gets the suite-wide statistics per resource domain.
+     * @return A snapshot of the statistics, sorted by domain
+     */
+    public static Map<String, ResourceStats> getDomainStats() {
+        return new TreeMap<>(domainStats);
+    }
+
+    /**
+     * Gets the suite-wide statistics per resource type (initiator type).
+     * @return A snapshot of the statistics, sorted by type
+     */
+    public static Map<String, ResourceStats> getTypeStats() {
+        return new TreeMap<>(typeStats);
+    }
+
+    /**
+     * Clears the statistics and last captures. Files already written are kept.
+     */
+    public static void clear() {
+        lastCaptures.clear();
+        domainStats.clear();
+        typeStats.clear();
+    }
+
+    private static void write(String pageName, List<ResourceEntry> entries) {
+        Path file = Paths.get(Constants.REPORT_PATH, "performance", "resources",
+                pageName.replaceAll("[^A-Za-z0-9._-]", "_") + ".jsonl");
+        synchronized (fileLocks.computeIfAbsent(file, path -> new Object())) {
+            try {
+                Files.createDirectories(file.getParent());
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+                     JsonGenerator json = JSON.createGenerator(out, JsonEncoding.UTF8)) {
+                    json.writeStartObject();
+                    json.writeStringField("scope", PerformanceUtils.getCurrentScope());
+                    json.writeStringField("page", pageName);
+                    json.writeNumberField("capturedAt", System.currentTimeMillis());
+                    json.writeArrayFieldStart("columns");
+                    for (String column : COLUMNS) {
+                        json.writeString(column);
+                    }
+                    json.writeEndArray();
+                    json.writeArrayFieldStart("entries");
+                    for (ResourceEntry entry : entries) {
+                        json.writeStartArray();
+                        json.writeString(entry.getName());
+                        json.writeString(entry.getType());
+                        json.writeNumber(entry.getStartTime());
+                        json.writeNumber(entry.getDuration());
+                        json.writeNumber(entry.getTtfb());
+                        json.writeNumber(entry.getTransferSize());
+                        json.writeNumber(entry.getDecodedBodySize());
+                        json.writeString(entry.getProtocol());
+                        json.writeEndArray();
+                    }
+                    json.writeEndArray();
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                }
+            } catch (IOException e) {
+                logger.error("Failed to write resource timings for {}: {}", pageName, e.getMessage(), e);
+            }
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    /**
+     * One resource timing entry. Times are in milliseconds relative to the document's time origin.
+     */
+    public static final class ResourceEntry {
+        private final String name;
+        private final String type;
+        private final double startTime;
+        private final double duration;
+        private final double ttfb;
+        private final long transferSize;
+        private final long decodedBodySize;
+        private final String protocol;
+
+        private ResourceEntry(List<Object> row) {
+            this.name = String.valueOf(row.get(0));
+            this.type = String.valueOf(row.get(1));
+            this.startTime = number(row.get(2));
+            this.duration = number(row.get(3));
+            this.ttfb = number(row.get(4));
+            this.transferSize = (long) number(row.get(5));
+            this.decodedBodySize = (long) number(row.get(6));
+            this.protocol = String.valueOf(row.get(7));
+        }
+
+        /**
+         * Gets the resource URL.
+         * @return The URL
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the initiator type, e.g. "script", "img" or "xmlhttprequest".
+         * @return The type
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Gets the host the resource was loaded from.
+         * @return The host, or "other" for URLs without one such as data: URLs
+         */
+        public String getDomain() {
+            int start = name.indexOf("://");
+            if (start < 0) {
+                return "other";
+            }
+            start += 3;
+            int end = start;
+            while (end < name.length() && "/?#:".indexOf(name.charAt(end)) < 0) {
+                end++;
+            }
+            return end > start ? name.substring(start, end) : "other";
+        }
+
+        /**
+         * Gets the time the fetch started.
+         * @return The start time in milliseconds
+         */
+        public double getStartTime() {
+            return startTime;
+        }
+
+        /**
+         * Gets the total fetch duration.
+         * @return The duration in milliseconds
+         */
+        public double getDuration() {
+            return duration;
+        }
+
+        /**
+         * Gets the time from the fetch start to the first response byte.
+         * @return The time in milliseconds, or 0 if not exposed (cross-origin without Timing-Allow-Origin)
+         */
+        public double getTtfb() {
+            return ttfb;
+        }
+
+        /**
+         * Gets the bytes transferred over the network, 0 for cached resources.
+         * @return The transfer size
+         */
+        public long getTransferSize() {
+            return transferSize;
+        }
+
+        /**
+         * Gets the decoded body size.
+         * @return The body size in bytes
+         */
+        public long getDecodedBodySize() {
+            return decodedBodySize;
+        }
+
+        /**
+         * Gets the network protocol, e.g. "h2".
+         * @return The protocol, empty if not exposed
+         */
+        public String getProtocol() {
+            return protocol;
+        }
+    }
+
+    /**
+     * Aggregated statistics of a group of resources.
+     */
+    public static final class ResourceStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder transferSize = new LongAdder();
+        private final LatencyHistogram duration = new LatencyHistogram();
+
+        private void add(ResourceEntry entry) {
+            count.increment();
+            transferSize.add(entry.getTransferSize());
+            duration.record(Math.round(entry.getDuration()));
+        }
+
+        /**
+         * Gets the number of resources.
+         * @return The count
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Gets the total bytes transferred.
+         * @return The transfer size
+         */
+        public long getTransferSize() {
+            return transferSize.sum();
+        }
+
+        /**
+         * Gets the distribution of resource durations in milliseconds.
+         * @return The duration histogram
+         */
+        public LatencyHistogram getDuration() {
+            return duration;
+        }
+
+        /**
+         * Summarises the statistics for reports.
+         * @return A map with count, transferSize and duration p50, p90, p99 and max
+         */
+        public Map<String, Object> toSummary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", getCount());
+            summary.put("transferSize", getTransferSize());
+            summary.put("p50", duration.getValueAtPercentile(50));
+            summary.put("p90", duration.getValueAtPercentile(90));
+            summary.put("p99", duration.getValueAtPercentile(99));
+            summary.put("max", duration.getMax());
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures in-app route changes, which Navigation Timing does not cover.
+ * {@link #begin(WebDriver, String)} marks the moment before the triggering click; {@link #end(String, int)}
+ * then waits for three milestones and records each as milliseconds since the mark:
+ * <ul>
+ *     <li>historyChangeTime: the URL changed through pushState, replaceState or popstate,
+ *     or the new document started if the click caused a full page load</li>
+ *     <li>networkIdleTime: the last fetch, XHR or resource finished, with no request for the quiet period after it</li>
+ *     <li>selectorVisibleTime: an element matching the target view's selector, other than one shown before
+ *     the click, first rendered visible (checked every animation frame)</li>
+ * </ul>
+ * routeChangeTime, the click-to-render time, is the latest of the three. All times use the page's
+ * high-resolution clock (timeOrigin + now), so they compare across a document change.
+ * After a full page load the selector is only checked from the first poll on, so its time has polling precision.
+ */
+public final class RouteChangeTimer {
+
+    private static final Logger logger = LogManager.getLogger(RouteChangeTimer.class);
+    private static final long QUIET_PERIOD_MILLIS = 500;
+    private static final long POLLING_INTERVAL_MILLIS = 50;
+
+    /**
+     * Installs the route instrumentation in window.__orangehrmRoutes once per document: history and network
+     * hooks, a resource observer for requests started before the hooks, and a frame-by-frame selector watcher.
+     */
+    private static final String INSTRUMENT_SCRIPT =
+            "(function () { " +
+            "    if (window.__orangehrmRoutes) { return; } " +
+            "    var now = function () { return performance.timeOrigin + performance.now(); }; " +
+            "    var routes = window.__orangehrmRoutes = { " +
+            "        id: Math.random().toString(36).slice(2), now: now, inflight: 0, lastActivity: performance.timeOrigin, " +
+            "        mark: 0, changes: [], selector: null, previous: null, visibleAt: 0 " +
+            "    }; " +
+            "    performance.getEntriesByType('resource').forEach(function (entry) { " +
+            "        routes.lastActivity = Math.max(routes.lastActivity, performance.timeOrigin + entry.responseEnd); " +
+            "    }); " +
+            "    try { " +
+            "        new PerformanceObserver(function (list) { " +
+            "            list.getEntries().forEach(function (entry) { " +
+            "                routes.lastActivity = Math.max(routes.lastActivity, performance.timeOrigin + entry.responseEnd); " +
+            "            }); " +
+            "        }).observe({ type: 'resource' }); " +
+            "    } catch (e) { } " +
+            "    var started = function () { routes.inflight++; routes.lastActivity = now(); }; " +
+            "    var finished = function () { routes.inflight = Math.max(0, routes.inflight - 1); routes.lastActivity = now(); }; " +
+            "    var changed = function () { routes.changes.push({ url: location.href, at: now() }); }; " +
+            "    ['pushState', 'replaceState'].forEach(function (name) { " +
+            "        var original = history[name]; " +
+            "        history[name] = function () { var result = original.apply(this, arguments); changed(); return result; }; " +
+            "    }); " +
+            "    window.addEventListener('popstate', changed); " +
+            "    if (window.fetch) { " +
+            "        var originalFetch = window.fetch; " +
+            "        window.fetch = function () { " +
+            "            started(); " +
+            "            return originalFetch.apply(this, arguments).then( " +
+            "                function (response) { finished(); return response; }, " +
+            "                function (error) { finished(); throw error; }); " +
+            "        }; " +
+            "    } " +
+            "    var originalSend = XMLHttpRequest.prototype.send; " +
+            "    XMLHttpRequest.prototype.send = function () { " +
+            "        started(); " +
+            "        this.addEventListener('loadend', finished); " +
+            "        return originalSend.apply(this, arguments); " +
+            "    }; " +
+            "    routes.watch = function (selector, previous) { " +
+            "        routes.selector = selector; " +
+            "        routes.previous = previous; " +
+            "        routes.visibleAt = 0; " +
+            "        var check = function () { " +
+            "            if (routes.selector !== selector || routes.visibleAt) { return; } " +
+            "            var visible = Array.prototype.some.call(document.querySelectorAll(selector), function (element) { " +
+            "                return element !== routes.previous && element.getClientRects().length > 0 " +
+            "                        && getComputedStyle(element).visibility !== 'hidden'; " +
+            "            }); " +
+            "            if (visible) { " +
+            "                routes.visibleAt = now(); " +
+            "            } else { " +
+            "                requestAnimationFrame(check); " +
+            "            } " +
+            "        }; " +
+            "        check(); " +
+            "    }; " +
+            "})();";
+
+    private static final String BEGIN_SCRIPT =
+            INSTRUMENT_SCRIPT +
+            "var routes = window.__orangehrmRoutes; " +
+            "routes.changes = []; " +
+            "routes.mark = routes.now(); " +
+            "routes.watch(arguments[0], document.querySelector(arguments[0])); " +
+            "return { id: routes.id, mark: routes.mark };";
+
+    /**
+     * Returns the milestones reached so far relative to the mark (arguments: document id, mark, selector,
+     * quiet period), re-instrumenting and watching the new page if the click replaced the document.
+     */
+    private static final String POLL_SCRIPT =
+            INSTRUMENT_SCRIPT +
+            "var id = arguments[0], mark = arguments[1], selector = arguments[2], quiet = arguments[3]; " +
+            "var routes = window.__orangehrmRoutes; " +
+            "var fullLoad = routes.id !== id; " +
+            "if (routes.selector !== selector) { routes.watch(selector, null); } " +
+            "var historyAt = 0; " +
+            "if (fullLoad) { " +
+            "    historyAt = performance.timeOrigin; " +
+            "} else { " +
+            "    for (var i = 0; i < routes.changes.length; i++) { " +
+            "        if (routes.changes[i].at >= mark) { historyAt = routes.changes[i].at; break; } " +
+            "    } " +
+            "} " +
+            "var idleAt = routes.inflight === 0 && routes.now() - routes.lastActivity >= quiet ? Math.max(routes.lastActivity, mark) : 0; " +
+            "return { " +
+            "    fullLoad: fullLoad, " +
+            "    url: location.href, " +
+            "    historyChangeTime: historyAt ? Math.round(historyAt - mark) : -1, " +
+            "    networkIdleTime: idleAt ? Math.round(idleAt - mark) : -1, " +
+            "    selectorVisibleTime: routes.visibleAt ? Math.round(routes.visibleAt - mark) : -1 " +
+            "};";
+
+    private final WebDriver driver;
+    private final String readySelector;
+    private final String documentId;
+    private final double mark;
+
+    private RouteChangeTimer(WebDriver driver, String readySelector, String documentId, double mark) {
+        this.driver = driver;
+        this.readySelector = readySelector;
+        this.documentId = documentId;
+        this.mark = mark;
+    }
+
+    /**
+     * Instruments the current page and marks the start of a route change. Call it right before the click.
+     * @param driver The WebDriver instance
+     * @param readySelector The CSS selector that becomes visible once the target view has rendered
+     * @return The running route change measurement
+     */
+    @SuppressWarnings("unchecked")
+    public static RouteChangeTimer begin(WebDriver driver, String readySelector) {
+        Map<String, Object> state = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(BEGIN_SCRIPT, readySelector);
+        return new RouteChangeTimer(driver, readySelector, (String) state.get("id"), ((Number) state.get("mark")).doubleValue());
+    }
+
+    /**
+     * Waits until the route has changed, the network is idle and the target selector is visible,
+     * then records the milestones under the route name in the current metric scope.
+     * @param route The route name, e.g. "admin/viewSystemUsers"
+     * @param timeoutInSeconds The maximum time to wait
+     * @return The milestones in milliseconds, empty if the route change did not complete in time
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Long> end(String route, int timeoutInSeconds) {
+        Map<String, Object>[] last = new Map[1];
+        try {
+            new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds), Duration.ofMillis(POLLING_INTERVAL_MILLIS))
+                    .until(webDriver -> {
+                        last[0] = (Map<String, Object>) ((JavascriptExecutor) webDriver).executeScript(
+                                POLL_SCRIPT, documentId, mark, readySelector, QUIET_PERIOD_MILLIS);
+                        return milestone(last[0], "historyChangeTime") >= 0
+                                && milestone(last[0], "networkIdleTime") >= 0
+                                && milestone(last[0], "selectorVisibleTime") >= 0;
+                    });
+        } catch (TimeoutException e) {
+            logger.warn("Route change to {} did not complete within {} s: {}", route, timeoutInSeconds, last[0]);
+            return new LinkedHashMap<>();
+        }
+
+        Map<String, Long> timings = new LinkedHashMap<>();
+        timings.put("historyChangeTime", milestone(last[0], "historyChangeTime"));
+        timings.put("networkIdleTime", milestone(last[0], "networkIdleTime"));
+        timings.put("selectorVisibleTime", milestone(last[0], "selectorVisibleTime"));
+        timings.put("routeChangeTime", timings.values().stream().mapToLong(Long::longValue).max().orElse(0));
+
+        String page = "route:" + route;
+        String scope = PerformanceUtils.getCurrentScope();
+        MetricStore store = MetricStore.getInstance();
+        timings.forEach((metric, value) -> store.record(scope, page, metric, value));
+        store.putAttribute(scope, page, "fullLoad", last[0].get("fullLoad"));
+        logger.info("Route change to {}{}: {}", route,
+                Boolean.TRUE.equals(last[0].get("fullLoad")) ? " (full page load)" : "", timings);
+        return timings;
+    }
+
+    private static long milestone(Map<String, Object> state, String name) {
+        Object value = state == null ? null : state.get(name);
+        return value instanceof Number ? ((Number) value).longValue() : -1;
+    }
+}
@@ -0,0 +1,414 @@
+package com.example.utils;
+
+import com.example.config.Constants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Seedable generator of synthetic OrangeHRM test data.
+ * Every record is derived only from the seed, its dataset and its index, so the same seed always yields the same
+ * data, any single record can be regenerated without producing the ones before it, and large files are written
+ * as a stream without holding records in memory. Users and leave requests reference employees by employee ID,
+ * and employees reference the generated job titles, so related datasets generated with the same seed line up.
+ */
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LogManager.getLogger(SyntheticDataGenerator.class);
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final long DEFAULT_EMPLOYEE_COUNT = 1000;
+    private static final LocalDate EPOCH = LocalDate.of(2015, 1, 1);
+    private static final long EPOCH_DAY = EPOCH.toEpochDay();
+
+    private static final String[] FIRST_NAMES = {
+            "Aaliyah", "Ahmed", "Alice", "Amara", "Andre", "Anna", "Carlos", "Chen", "Daniel", "Diego",
+            "Elena", "Emma", "Farah", "Gabriel", "Hana", "Ivan", "James", "Julia", "Kenji", "Lakshmi",
+            "Liam", "Lucia", "Mateo", "Mei", "Mohammed", "Nadia", "Noah", "Olga", "Omar", "Priya",
+            "Rahul", "Sara", "Sofia", "Tariq", "Thomas", "Valentina", "Wei", "Yara", "Yusuf", "Zoe"
+    };
+    private static final String[] LAST_NAMES = {
+            "Adeyemi", "Andersson", "Bauer", "Chen", "Costa", "Dubois", "Fernandez", "Garcia", "Gupta", "Haddad",
+            "Ivanova", "Johnson", "Kim", "Kowalski", "Lopez", "Martin", "Mensah", "Moreau", "Muller", "Nakamura",
+            "Nguyen", "Novak", "Okafor", "Olsen", "Patel", "Petrov", "Rahman", "Rossi", "Santos", "Schmidt",
+            "Silva", "Singh", "Smith", "Suzuki", "Tanaka", "Wang", "Williams", "Yilmaz", "Zhang", "Zimmermann"
+    };
+    private static final String[] TITLES = {
+            "Software Engineer", "QA Engineer", "Account Assistant", "HR Manager", "Payroll Administrator",
+            "Sales Representative", "Marketing Specialist", "Support Specialist", "Network Administrator",
+            "Financial Analyst", "Project Manager", "Business Analyst", "Recruiter", "Office Manager",
+            "Data Analyst", "Product Owner"
+    };
+    private static final String[] LEVELS = {"Junior", "", "Senior", "Lead", "Principal"};
+    private static final String[] SUB_UNITS = {
+            "Engineering", "Quality Assurance", "Human Resources", "Finance", "Sales & Marketing",
+            "Administration", "Development", "Client Services"
+    };
+    private static final String[] LOCATIONS = {"New York Sales Office", "Texas R&D", "Canadian Regional HQ", "London Office"};
+    private static final String[] EMPLOYMENT_STATUSES = {
+            "Full-Time Permanent", "Full-Time Contract", "Full-Time Probation", "Part-Time Contract", "Part-Time Internship", "Freelance"
+    };
+    private static final String[] LEAVE_TYPES = {"CAN - Vacation", "CAN - Personal", "CAN - Bereavement", "CAN - FMLA", "US - Vacation"};
+    private static final String[] LEAVE_STATUSES = {"Pending Approval", "Scheduled", "Taken", "Rejected", "Cancelled"};
+    private static final String[] LEAVE_COMMENTS = {
+            "Family trip", "Medical appointment", "Personal matters", "Conference travel", "Moving house", ""
+    };
+
+    /** Number of distinct job titles referenced by generated employees. */
+    public static final int JOB_TITLE_COUNT = TITLES.length * LEVELS.length;
+
+    /**
+     * The datasets the generator can produce.
+     */
+    public enum Dataset {
+        EMPLOYEES("employees", 0x9E3779B97F4A7C15L,
+                "employeeId", "firstName", "middleName", "lastName", "jobTitle", "employmentStatus",
+                "subUnit", "location", "joinedDate", "email"),
+        USERS("users", 0xC2B2AE3D27D4EB4FL,
+                "username", "password", "role", "status", "employeeId", "employeeName"),
+        LEAVE_REQUESTS("leaveRequests", 0x165667B19E3779F9L,
+                "requestId", "employeeId", "leaveType", "fromDate", "toDate", "durationDays", "status", "comment"),
+        JOB_TITLES("jobTitles", 0xD6E8FEB86659FD93L,
+                "jobTitleId", "title", "description");
+
+        private final String fieldName;
+        private final long salt;
+        private final String[] columns;
+
+        Dataset(String fieldName, long salt, String... columns) {
+            this.fieldName = fieldName;
+            this.salt = salt;
+            this.columns = columns;
+        }
+
+        /**
+         * Gets the column names, in row order.
+         * @return A copy of the column names
+         */
+        public String[] getColumns() {
+            return columns.clone();
+        }
+
+        /**
+         * Gets the name of the top-level JSON field holding the records.
+         * @return The JSON field name
+         */
+        public String getFieldName() {
+            return fieldName;
+        }
+    }
+
+    private final long seed;
+    private final long employeeCount;
+
+    /**
+     * Constructor for the SyntheticDataGenerator with the default employee population.
+     * @param seed The seed that determines all generated values
+     */
+    public SyntheticDataGenerator(long seed) {
+        this(seed, DEFAULT_EMPLOYEE_COUNT);
+    }
+
+    /**
+     * Constructor for the SyntheticDataGenerator.
+     * @param seed The seed that determines all generated values
+     * @param employeeCount The number of employees that users and leave requests refer to
+     */
+    public SyntheticDataGenerator(long seed, long employeeCount) {
+        if (employeeCount < 1) {
+            throw new IllegalArgumentException("Employee count must be at least 1: " + employeeCount);
+        }
+        this.seed = seed;
+        this.employeeCount = employeeCount;
+    }
+
+    /**
+     * Generates a single record.
+     * @param dataset The dataset to generate
+     * @param index The zero-based index of the record
+     * @return The record values, in the order of {@link Dataset#getColumns()}
+     */
+    public Object[] row(Dataset dataset, long index) {
+        RowRandom random = new RowRandom(seed ^ dataset.salt, index);
+        switch (dataset) {
+            case EMPLOYEES:
+                return employee(random, index);
+            case USERS:
+                return user(random, index);
+            case LEAVE_REQUESTS:
+                return leaveRequest(random, index);
+            case JOB_TITLES:
+                return jobTitle(index);
+            default:
+                throw new IllegalArgumentException("Unsupported dataset: " + dataset);
+        }
+    }
+
+    /**
+     * Generates records lazily.
+     * @param dataset The dataset to generate
+     * @param count The number of records
+     * @return An ordered stream of records; it may be made parallel since records are independent
+     */
+    public Stream<Object[]> rows(Dataset dataset, long count) {
+        return LongStream.range(0, count).mapToObj(index -> row(dataset, index));
+    }
+
+    /**
+     * Writes records to a CSV file in the generated test data directory.
+     * @param dataset The dataset to generate
+     * @param count The number of records
+     * @return The path of the written file
+     */
+    public Path writeCsv(Dataset dataset, long count) {
+        return writeCsv(dataset, count, Paths.get(Constants.GENERATED_DATA_PATH, dataset.fieldName + ".csv"));
+    }
+
+    /**
+     * Writes records to a CSV file with a header row.
+     * @param dataset The dataset to generate
+     * @param count The number of records
+     * @param file The file to write
+     * @return The path of the written file
+     */
+    public Path writeCsv(Dataset dataset, long count, Path file) {
+        logger.info("Generating {} {} records to {}", count, dataset, file);
+        long start = System.nanoTime();
+        try (Writer writer = new OutputStreamWriter(open(file), StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder(256);
+            appendCsvRow(line, dataset.columns);
+            writer.append(line);
+            for (long index = 0; index < count; index++) {
+                line.setLength(0);
+                appendCsvRow(line, row(dataset, index));
+                writer.append(line);
+            }
+        } catch (IOException e) {
+            logger.error("Error writing generated CSV data: {}", file, e);
+            throw new RuntimeException("Error writing generated CSV data: " + file, e);
+        }
+        logElapsed(dataset, count, start);
+        return file;
+    }
+
+    /**
+     * Writes records to a JSON file in the generated test data directory.
+     * @param dataset The dataset to generate
+     * @param count The number of records
+     * @return The path of the written file
+     */
+    public Path writeJson(Dataset dataset, long count) {
+        return writeJson(dataset, count, Paths.get(Constants.GENERATED_DATA_PATH, dataset.fieldName + ".json"));
+    }
+
+    /**
+     * Writes records to a JSON file as an array of objects under the dataset's field name,
+     * e.g. {"employees": [...]}, which can be read back with {@link FixtureCache#streamArray(String, String)}.
+     * @param dataset The dataset to generate
+     * @param count The number of records
+     * @param file The file to write
+     * @return The path of the written file
+     */
+    public Path writeJson(Dataset dataset, long count, Path file) {
+        logger.info("Generating {} {} records to {}", count, dataset, file);
+        long start = System.nanoTime();
+        try (JsonGenerator json = new JsonFactory().createGenerator(open(file), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart(dataset.fieldName);
+            for (long index = 0; index < count; index++) {
+                Object[] values = row(dataset, index);
+                json.writeStartObject();
+                for (int i = 0; i < values.length; i++) {
+                    json.writeFieldName(dataset.columns[i]);
+                    if (values[i] instanceof Number) {
+                        json.writeNumber(((Number) values[i]).longValue());
+                    } else {
+                        json.writeString(String.valueOf(values[i]));
+                    }
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (IOException e) {
+            logger.error("Error writing generated JSON data: {}", file, e);
+            throw new RuntimeException("Error writing generated JSON data: " + file, e);
+        }
+        logElapsed(dataset, count, start);
+        return file;
+    }
+
+    /**
+     * Gets the employee ID for an employee index.
+     * @param index The zero-based employee index
+     * @return The employee ID
+     */
+    public static String employeeId(long index) {
+        return String.format(Locale.ROOT, "E%07d", index + 1);
+    }
+
+    /**
+     * Generates test data files from the command line.
+     * Usage: SyntheticDataGenerator &lt;dataset&gt; &lt;count&gt; [csv|json] [seed] [employeeCount]
+     * @param args The command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: SyntheticDataGenerator <employees|users|leave_requests|job_titles> <count> [csv|json] [seed] [employeeCount]");
+            System.exit(1);
+        }
+        Dataset dataset = Dataset.valueOf(args[0].toUpperCase(Locale.ROOT));
+        long count = Long.parseLong(args[1]);
+        String format = args.length > 2 ? args[2] : "csv";
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+        long employees = args.length > 4 ? Long.parseLong(args[4]) : DEFAULT_EMPLOYEE_COUNT;
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, employees);
+        Path file = "json".equalsIgnoreCase(format) ? generator.writeJson(dataset, count) : generator.writeCsv(dataset, count);
+        System.out.println("Generated " + file);
+    }
+
+    private Object[] employee(RowRandom random, long index) {
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        String middleName = random.nextInt(4) == 0 ? pick(random, FIRST_NAMES) : "";
+        LocalDate joined = LocalDate.ofEpochDay(EPOCH_DAY + random.nextInt(3650));
+        return new Object[] {
+                employeeId(index),
+                firstName,
+                middleName,
+                lastName,
+                jobTitleName(random.nextInt(JOB_TITLE_COUNT)),
+                pick(random, EMPLOYMENT_STATUSES),
+                pick(random, SUB_UNITS),
+                pick(random, LOCATIONS),
+                joined.toString(),
+                (firstName + "." + lastName + (index + 1)).toLowerCase(Locale.ROOT) + "@example.com"
+        };
+    }
+
+    private Object[] user(RowRandom random, long index) {
+        // Each user belongs to the employee with the same index, wrapping around the employee population
+        long employeeIndex = index % employeeCount;
+        Object[] employee = row(Dataset.EMPLOYEES, employeeIndex);
+        String username = ((String) employee[1]).toLowerCase(Locale.ROOT) + "." + (index + 1);
+        return new Object[] {
+                username,
+                "Pass" + Long.toString(random.nextLong() & 0xFFFFFFFFFFL, 36) + "!1",
+                random.nextInt(10) == 0 ? "Admin" : "ESS",
+                random.nextInt(20) == 0 ? "Disabled" : "Enabled",
+                employee[0],
+                employee[1] + " " + employee[3]
+        };
+    }
+
+    private Object[] leaveRequest(RowRandom random, long index) {
+        long employeeIndex = random.nextLong(employeeCount);
+        LocalDate from = LocalDate.ofEpochDay(EPOCH_DAY + 3285 + random.nextInt(730));
+        int duration = 1 + random.nextInt(random.nextInt(5) == 0 ? 15 : 3);
+        return new Object[] {
+                "L" + (index + 1),
+                employeeId(employeeIndex),
+                pick(random, LEAVE_TYPES),
+                from.toString(),
+                from.plusDays(duration - 1).toString(),
+                duration,
+                pick(random, LEAVE_STATUSES),
+                pick(random, LEAVE_COMMENTS)
+        };
+    }
+
+    private Object[] jobTitle(long index) {
+        String title = jobTitleName(index % JOB_TITLE_COUNT);
+        long round = index / JOB_TITLE_COUNT;
+        if (round > 0) {
+            // Keep titles unique beyond the base catalogue
+            title = title + " " + (round + 1);
+        }
+        return new Object[] {index + 1, title, "Synthetic job title " + (index + 1)};
+    }
+
+    private static String jobTitleName(long index) {
+        String level = LEVELS[(int) (index / TITLES.length)];
+        String title = TITLES[(int) (index % TITLES.length)];
+        return level.isEmpty() ? title : level + " " + title;
+    }
+
+    private static String pick(RowRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static void appendCsvRow(StringBuilder line, Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String value = String.valueOf(values[i]);
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                line.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(value);
+            }
+        }
+        line.append('\n');
+    }
+
+    private static OutputStream open(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+    }
+
+    private static void logElapsed(Dataset dataset, long count, long startNanos) {
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        logger.info("Generated {} {} records in {} ms", count, dataset, elapsedMillis);
+    }
+
+    /**
+     * SplitMix64 sequence seeded from the dataset seed and the record index.
+     * Cheap to create per record and independent of the JDK's Random implementations.
+     */
+    private static final class RowRandom {
+        private long state;
+
+        RowRandom(long seed, long index) {
+            this.state = mix(seed + mix(index + 0x9E3779B97F4A7C15L));
+        }
+
+        long nextLong() {
+            state += 0x9E3779B97F4A7C15L;
+            return mix(state);
+        }
+
+        long nextLong(long bound) {
+            return Math.floorMod(nextLong(), bound);
+        }
+
+        int nextInt(int bound) {
+            return (int) nextLong(bound);
+        }
+
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
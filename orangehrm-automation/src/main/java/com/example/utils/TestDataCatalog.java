@@ -0,0 +1,399 @@
+package com.example.utils;
+
+import com.example.config.Constants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Catalog of the files in the test data directory with their format, row count and content hash.
+ * The catalog is persisted under target/ and refreshed incrementally: files whose size and modification time
+ * are unchanged are not read at all, and files whose content hash is unchanged are not parsed again.
+ * Data sets are tagged through tags.properties in the test data directory (file=tag1,tag2), in addition to
+ * implicit tags for their format and sub-directory, so suites can select data by tag.
+ */
+public final class TestDataCatalog {
+
+    private static final Logger logger = LogManager.getLogger(TestDataCatalog.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String TAGS_FILE = "tags.properties";
+    private static final int CATALOG_VERSION = 1;
+    private static volatile TestDataCatalog instance;
+
+    private final Path dataDirectory;
+    private final Path catalogFile;
+    private volatile Map<String, Entry> entries = Collections.emptyMap();
+
+    /**
+     * Constructor for the TestDataCatalog.
+     * @param dataDirectory The test data directory
+     * @param catalogFile The file the catalog is persisted to
+     */
+    public TestDataCatalog(Path dataDirectory, Path catalogFile) {
+        this.dataDirectory = dataDirectory;
+        this.catalogFile = catalogFile;
+    }
+
+    /**
+     * Gets the catalog of the default test data directory, loading and refreshing it on first use.
+     * @return The shared catalog
+     */
+    public static TestDataCatalog get() {
+        TestDataCatalog catalog = instance;
+        if (catalog == null) {
+            synchronized (TestDataCatalog.class) {
+                catalog = instance;
+                if (catalog == null) {
+                    catalog = new TestDataCatalog(Paths.get(Constants.TEST_DATA_PATH), Paths.get(Constants.TEST_DATA_CATALOG));
+                    catalog.refresh();
+                    instance = catalog;
+                }
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Brings the catalog up to date with the test data directory and persists it.
+     * @return This catalog
+     */
+    public synchronized TestDataCatalog refresh() {
+        long start = System.nanoTime();
+        if (!Files.isDirectory(dataDirectory)) {
+            logger.warn("Test data directory not found: {}", dataDirectory);
+            entries = Collections.emptyMap();
+            return this;
+        }
+        Map<String, Entry> previous = entries.isEmpty() ? load() : entries;
+        Properties tags = loadTags();
+        Map<String, Entry> current = new TreeMap<>();
+        int hashed = 0;
+        int parsed = 0;
+
+        try (Stream<Path> files = Files.walk(dataDirectory)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String name = dataDirectory.relativize(file).toString().replace('\\', '/');
+                if (name.equals(TAGS_FILE)) {
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                long size = attributes.size();
+                long lastModified = attributes.lastModifiedTime().toMillis();
+                Set<String> entryTags = tagsFor(name, tags);
+                Entry known = previous.get(name);
+
+                if (known != null && known.size == size && known.lastModified == lastModified) {
+                    current.put(name, known.withTags(entryTags));
+                    continue;
+                }
+                String hash = hash(file);
+                hashed++;
+                long rowCount;
+                if (known != null && known.hash.equals(hash)) {
+                    rowCount = known.rowCount;
+                } else {
+                    rowCount = countRows(file, formatOf(name));
+                    parsed++;
+                }
+                current.put(name, new Entry(name, formatOf(name), rowCount, hash, size, lastModified, entryTags));
+            }
+        } catch (IOException e) {
+            logger.error("Error scanning test data directory: {}", dataDirectory, e);
+            throw new UncheckedIOException("Error scanning test data directory: " + dataDirectory, e);
+        }
+
+        entries = Collections.unmodifiableMap(current);
+        save();
+        logger.info("Test data catalog: {} files, {} hashed, {} parsed in {} ms",
+                current.size(), hashed, parsed, (System.nanoTime() - start) / 1_000_000);
+        return this;
+    }
+
+    /**
+     * Gets all catalog entries, ordered by name.
+     * @return The entries
+     */
+    public Collection<Entry> getEntries() {
+        return entries.values();
+    }
+
+    /**
+     * Gets the entry of a file.
+     * @param name The file name relative to the test data directory
+     * @return The entry, or null if the file is not in the catalog
+     */
+    public Entry getEntry(String name) {
+        return entries.get(name);
+    }
+
+    /**
+     * Gets the entries carrying a tag.
+     * @param tag The tag, e.g. "login", "csv" or "generated"
+     * @return The matching entries, ordered by name
+     */
+    public List<Entry> findByTag(String tag) {
+        String normalized = tag.trim().toLowerCase(Locale.ROOT);
+        return entries.values().stream()
+                .filter(entry -> entry.tags.contains(normalized))
+                .collect(Collectors.toList());
+    }
+
+    private Map<String, Entry> load() {
+        if (!Files.exists(catalogFile)) {
+            return Collections.emptyMap();
+        }
+        try {
+            JsonNode root = mapper.readTree(catalogFile.toFile());
+            if (root.path("version").asInt() != CATALOG_VERSION) {
+                return Collections.emptyMap();
+            }
+            Map<String, Entry> loaded = new TreeMap<>();
+            for (JsonNode node : root.path("files")) {
+                Set<String> tags = new LinkedHashSet<>();
+                node.path("tags").forEach(tag -> tags.add(tag.asText()));
+                Entry entry = new Entry(node.path("name").asText(), node.path("format").asText(), node.path("rowCount").asLong(),
+                        node.path("hash").asText(), node.path("size").asLong(), node.path("lastModified").asLong(), tags);
+                loaded.put(entry.name, entry);
+            }
+            return loaded;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable test data catalog {}: {}", catalogFile, e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private void save() {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("version", CATALOG_VERSION);
+        root.put("directory", dataDirectory.toString());
+        ArrayNode files = root.putArray("files");
+        for (Entry entry : entries.values()) {
+            ObjectNode node = files.addObject();
+            node.put("name", entry.name);
+            node.put("format", entry.format);
+            node.put("rowCount", entry.rowCount);
+            node.put("hash", entry.hash);
+            node.put("size", entry.size);
+            node.put("lastModified", entry.lastModified);
+            ArrayNode tags = node.putArray("tags");
+            entry.tags.forEach(tags::add);
+        }
+        try {
+            Path parent = catalogFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "catalog", ".tmp");
+            mapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), root);
+            Files.move(temp, catalogFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The catalog is an optimisation; a failed write only costs a rescan next run
+            logger.warn("Could not persist test data catalog {}: {}", catalogFile, e.getMessage());
+        }
+    }
+
+    private Properties loadTags() {
+        Properties tags = new Properties();
+        Path tagsFile = dataDirectory.resolve(TAGS_FILE);
+        if (Files.exists(tagsFile)) {
+            try (InputStream input = Files.newInputStream(tagsFile)) {
+                tags.load(input);
+            } catch (IOException e) {
+                logger.warn("Could not read test data tags {}: {}", tagsFile, e.getMessage());
+            }
+        }
+        return tags;
+    }
+
+    private static Set<String> tagsFor(String name, Properties tags) {
+        Set<String> result = new LinkedHashSet<>();
+        result.add(formatOf(name));
+        int slash = name.indexOf('/');
+        if (slash > 0) {
+            result.add(name.substring(0, slash).toLowerCase(Locale.ROOT));
+        }
+        String declared = tags.getProperty(name);
+        if (declared != null) {
+            Arrays.stream(declared.split(","))
+                    .map(tag -> tag.trim().toLowerCase(Locale.ROOT))
+                    .filter(tag -> !tag.isEmpty())
+                    .forEach(result::add);
+        }
+        return result;
+    }
+
+    private static String formatOf(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String hash(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream input = Files.newInputStream(file)) {
+                int read;
+                while ((read = input.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Counts the data rows of a file: CSV rows after the header, the elements of a root JSON array,
+     * or the elements of all top-level arrays of a JSON object. Other formats report -1.
+     */
+    private static long countRows(Path file, String format) throws IOException {
+        if ("csv".equals(format)) {
+            long rows = 0;
+            try (CsvReader reader = CsvReader.open(file, ',')) {
+                while (reader.hasNext()) {
+                    reader.next();
+                    rows++;
+                }
+            }
+            return Math.max(0, rows - 1);
+        }
+        if ("json".equals(format)) {
+            try (JsonParser parser = mapper.getFactory().createParser(FixtureCache.openMapped(file))) {
+                JsonToken root = parser.nextToken();
+                if (root == JsonToken.START_ARRAY) {
+                    return countElements(parser);
+                }
+                long rows = 0;
+                if (root == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        if (parser.nextToken() == JsonToken.START_ARRAY) {
+                            rows += countElements(parser);
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+                return rows;
+            }
+        }
+        return -1;
+    }
+
+    private static long countElements(JsonParser parser) throws IOException {
+        long count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * A cataloged test data file.
+     */
+    public static final class Entry {
+        private final String name;
+        private final String format;
+        private final long rowCount;
+        private final String hash;
+        private final long size;
+        private final long lastModified;
+        private final Set<String> tags;
+
+        Entry(String name, String format, long rowCount, String hash, long size, long lastModified, Set<String> tags) {
+            this.name = name;
+            this.format = format;
+            this.rowCount = rowCount;
+            this.hash = hash;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.tags = Collections.unmodifiableSet(new LinkedHashSet<>(tags));
+        }
+
+        Entry withTags(Set<String> newTags) {
+            return tags.equals(newTags) ? this : new Entry(name, format, rowCount, hash, size, lastModified, newTags);
+        }
+
+        /**
+         * Gets the file name relative to the test data directory.
+         * @return The file name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the file format, taken from the file extension.
+         * @return The format, e.g. "csv" or "json"
+         */
+        public String getFormat() {
+            return format;
+        }
+
+        /**
+         * Gets the number of data rows, or -1 for formats that are not counted.
+         * @return The row count
+         */
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Gets the SHA-256 hash of the file content.
+         * @return The hex-encoded hash
+         */
+        public String getHash() {
+            return hash;
+        }
+
+        /**
+         * Gets the file size.
+         * @return The size in bytes
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Gets the tags of the file.
+         * @return The tags
+         */
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + format + ", " + rowCount + " rows, tags " + tags + ")";
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.example.utils;
+
+import com.example.config.Constants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes finished {@link Tracer} spans to disk in two formats:
+ * a Chrome trace_event file, which chrome://tracing and Perfetto show with one track per test thread,
+ * and an OTLP JSON file, which OpenTelemetry collectors and trace viewers can import.
+ */
+public class TraceExporter {
+
+    private static final Logger logger = LogManager.getLogger(TraceExporter.class);
+    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+    private static final String SERVICE_NAME = "orangehrm-automation";
+    // Converts System.nanoTime() readings to Unix epoch nanoseconds for OTLP
+    private static final long EPOCH_OFFSET_NANOS = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /**
+     * Drains the finished spans and writes them as a Chrome trace and as OTLP JSON to the traces report directory.
+     * @param name The report name, e.g. the suite name
+     * @return The written files, empty if there were no spans
+     */
+    public static List<Path> writeReports(String name) {
+        List<Tracer.Span> spans = Tracer.drainFinishedSpans();
+        List<Path> files = new ArrayList<>();
+        if (spans.isEmpty()) {
+            return files;
+        }
+        try {
+            Path reportDir = Paths.get(Constants.REPORT_PATH, "traces");
+            Files.createDirectories(reportDir);
+            String baseName = name.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + DATE_FORMAT.format(new Date());
+
+            Path chromeTrace = reportDir.resolve(baseName + ".trace.json");
+            writeChromeTrace(spans, chromeTrace);
+            files.add(chromeTrace);
+
+            Path otlp = reportDir.resolve(baseName + ".otlp.json");
+            writeOtlp(spans, otlp);
+            files.add(otlp);
+
+            logger.info("Wrote {} spans to {} and {}", spans.size(), chromeTrace, otlp);
+            return files;
+        } catch (IOException e) {
+            logger.error("Failed to write trace reports: {}", e.getMessage(), e);
+            throw new UncheckedIOException("Failed to write trace reports", e);
+        }
+    }
+
+    /**
+     * Writes spans in the Chrome trace_event format as complete ("X") events, one thread track per test thread.
+     * @param spans The spans
+     * @param file The target file
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeChromeTrace(List<Tracer.Span> spans, Path file) throws IOException {
+        long origin = spans.stream().mapToLong(Tracer.Span::getStartNanos).min().orElse(0);
+        Map<Long, String> threads = new LinkedHashMap<>();
+        spans.forEach(span -> threads.putIfAbsent(span.getThreadId(), span.getThreadName()));
+
+        try (JsonGenerator json = JSON.createGenerator(Files.newOutputStream(file), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("displayTimeUnit", "ms");
+            json.writeArrayFieldStart("traceEvents");
+
+            writeMetadataEvent(json, "process_name", 0, SERVICE_NAME);
+            for (Map.Entry<Long, String> thread : threads.entrySet()) {
+                writeMetadataEvent(json, "thread_name", thread.getKey(), thread.getValue());
+            }
+
+            for (Tracer.Span span : spans) {
+                json.writeStartObject();
+                json.writeStringField("name", span.getName());
+                json.writeStringField("cat", span.getCategory());
+                json.writeStringField("ph", "X");
+                json.writeNumberField("ts", (span.getStartNanos() - origin) / 1000.0);
+                json.writeNumberField("dur", (span.getEndNanos() - span.getStartNanos()) / 1000.0);
+                json.writeNumberField("pid", 1);
+                json.writeNumberField("tid", span.getThreadId());
+                json.writeObjectFieldStart("args");
+                json.writeStringField("test", span.getScope());
+                for (Map.Entry<String, String> attribute : span.getAttributes().entrySet()) {
+                    json.writeStringField(attribute.getKey(), attribute.getValue());
+                }
+                if (span.getError() != null) {
+                    json.writeStringField("error", span.getError());
+                }
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes spans in the OTLP JSON trace format, with each test scope as one trace.
+     * @param spans The spans
+     * @param file The target file
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeOtlp(List<Tracer.Span> spans, Path file) throws IOException {
+        try (JsonGenerator json = JSON.createGenerator(Files.newOutputStream(file), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("resourceSpans");
+            json.writeStartObject();
+
+            json.writeObjectFieldStart("resource");
+            json.writeArrayFieldStart("attributes");
+            writeAttribute(json, "service.name", SERVICE_NAME);
+            json.writeEndArray();
+            json.writeEndObject();
+
+            json.writeArrayFieldStart("scopeSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("scope");
+            json.writeStringField("name", Tracer.class.getName());
+            json.writeEndObject();
+            json.writeArrayFieldStart("spans");
+
+            for (Tracer.Span span : spans) {
+                json.writeStartObject();
+                json.writeStringField("traceId", span.getTraceId());
+                json.writeStringField("spanId", span.getSpanId());
+                if (span.getParent() != null) {
+                    json.writeStringField("parentSpanId", span.getParent().getSpanId());
+                }
+                json.writeStringField("name", span.getName());
+                // SPAN_KIND_INTERNAL
+                json.writeNumberField("kind", 1);
+                // 64-bit integers are strings in OTLP JSON
+                json.writeStringField("startTimeUnixNano", Long.toString(EPOCH_OFFSET_NANOS + span.getStartNanos()));
+                json.writeStringField("endTimeUnixNano", Long.toString(EPOCH_OFFSET_NANOS + span.getEndNanos()));
+
+                json.writeArrayFieldStart("attributes");
+                writeAttribute(json, "test.scope", span.getScope());
+                writeAttribute(json, "span.category", span.getCategory());
+                writeAttribute(json, "thread.id", Long.toString(span.getThreadId()));
+                writeAttribute(json, "thread.name", span.getThreadName());
+                for (Map.Entry<String, String> attribute : span.getAttributes().entrySet()) {
+                    writeAttribute(json, attribute.getKey(), attribute.getValue());
+                }
+                json.writeEndArray();
+
+                if (span.getError() != null) {
+                    json.writeObjectFieldStart("status");
+                    // STATUS_CODE_ERROR
+                    json.writeNumberField("code", 2);
+                    json.writeStringField("message", span.getError());
+                    json.writeEndObject();
+                }
+                json.writeEndObject();
+            }
+
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeMetadataEvent(JsonGenerator json, String name, long threadId, String value) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("name", name);
+        json.writeStringField("ph", "M");
+        json.writeNumberField("pid", 1);
+        json.writeNumberField("tid", threadId);
+        json.writeObjectFieldStart("args");
+        json.writeStringField("name", value);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private static void writeAttribute(JsonGenerator json, String key, String value) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("key", key);
+        json.writeObjectFieldStart("value");
+        json.writeStringField("stringValue", value);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+}
@@ -0,0 +1,381 @@
+package com.example.utils;
+
+import com.example.config.ConfigReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight span tracer for test execution.
+ * Tests, page actions, waits, timers and driver calls open spans on the running thread; a span started while
+ * another is open becomes its child. Finished spans are buffered in memory and written by {@link TraceExporter}
+ * as a Chrome trace and as OTLP JSON. Each test scope is one trace.
+ * Tracing is off unless the "trace_enabled" property is true; while it is off every span is a shared no-op.
+ */
+public final class Tracer {
+
+    private static final Logger logger = LogManager.getLogger(Tracer.class);
+    private static final Span NOOP = new Span();
+    private static final ThreadLocal<Span> current = new ThreadLocal<>();
+    private static final Queue<Span> finished = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger finishedCount = new AtomicInteger();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final Map<String, String> traceIds = new ConcurrentHashMap<>();
+    private static final int MAX_SPANS = setting(() -> ConfigReader.getSnapshot().getInt("trace_max_spans", 200000, 1), 200000);
+    private static volatile boolean enabled = setting(() -> ConfigReader.getSnapshot().getBoolean("trace_enabled", false), false);
+
+    private Tracer() {
+        // Static utility
+    }
+
+    /**
+     * Reads a tracing setting, falling back to its default if the configured value is invalid,
+     * so that a typo in a tracing property cannot break every traced wait, login and navigation.
+     */
+    private static <T> T setting(Supplier<T> value, T defaultValue) {
+        try {
+            return value.get();
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid tracing setting, using {}: {}", defaultValue, e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Checks whether spans are recorded.
+     * @return true if tracing is enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns span recording on or off, overriding the "trace_enabled" property.
+     * @param value true to record spans
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Starts a span on the current thread. The span must be ended on the same thread, preferably with
+     * try-with-resources.
+     * @param name The span name, e.g. "LoginPage.login"
+     * @param category The span category, e.g. "test", "page", "wait" or "driver"
+     * @return The running span, or a no-op span if tracing is disabled
+     */
+    public static Span startSpan(String name, String category) {
+        if (!enabled) {
+            return NOOP;
+        }
+        return new Span(name, category, current.get());
+    }
+
+    /**
+     * Runs an operation inside a span, marking the span as failed if the operation throws.
+     * @param name The span name
+     * @param category The span category
+     * @param operation The operation
+     * @param <T> The result type
+     * @return The result of the operation
+     */
+    public static <T> T trace(String name, String category, Supplier<T> operation) {
+        return trace(startSpan(name, category), operation);
+    }
+
+    /**
+     * Runs an operation inside a span that was just started, e.g. to set attributes first, and ends it.
+     * The span is marked as failed if the operation throws.
+     * @param span The started span
+     * @param operation The operation
+     * @param <T> The result type
+     * @return The result of the operation
+     */
+    public static <T> T trace(Span span, Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (RuntimeException | Error e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Runs an operation inside a span, marking the span as failed if the operation throws.
+     * @param name The span name
+     * @param category The span category
+     * @param operation The operation
+     */
+    public static void trace(String name, String category, Runnable operation) {
+        trace(name, category, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Gets the innermost span that is still open on the current thread.
+     * @return The span, or null if none is open
+     */
+    public static Span current() {
+        return current.get();
+    }
+
+    /**
+     * Removes and returns all finished spans, e.g. to export them at the end of a suite.
+     * @return The finished spans in completion order
+     */
+    public static List<Span> drainFinishedSpans() {
+        List<Span> spans = new ArrayList<>();
+        Span span;
+        while ((span = finished.poll()) != null) {
+            finishedCount.decrementAndGet();
+            spans.add(span);
+        }
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            logger.warn("Dropped {} spans beyond the trace_max_spans limit of {}", lost, MAX_SPANS);
+        }
+        return spans;
+    }
+
+    /**
+     * Forgets the open spans of the current thread without finishing them, e.g. at the end of a test.
+     */
+    static void resetCurrentThread() {
+        current.remove();
+    }
+
+    private static String traceIdFor(String scope) {
+        return traceIds.computeIfAbsent(scope, name -> randomHex(16));
+    }
+
+    private static String randomHex(int bytes) {
+        StringBuilder hex = new StringBuilder(bytes * 2);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < bytes; i++) {
+            hex.append(Character.forDigit(random.nextInt(16), 16)).append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * One timed operation in a trace. Spans are confined to the thread that started them until they end.
+     */
+    public static final class Span implements AutoCloseable {
+        private final String name;
+        private final String category;
+        private final Span parent;
+        private final String traceId;
+        private final String spanId;
+        private final String scope;
+        private final long threadId;
+        private final String threadName;
+        private final long startNanos;
+        private final Map<String, String> attributes;
+        private long endNanos;
+        private String error;
+        private boolean ended;
+
+        private Span() {
+            this.name = "noop";
+            this.category = "noop";
+            this.parent = null;
+            this.traceId = null;
+            this.spanId = null;
+            this.scope = null;
+            this.threadId = 0;
+            this.threadName = null;
+            this.startNanos = 0;
+            this.attributes = Collections.emptyMap();
+            this.ended = true;
+        }
+
+        private Span(String name, String category, Span parent) {
+            Thread thread = Thread.currentThread();
+            this.name = name;
+            this.category = category;
+            this.parent = parent;
+            this.scope = PerformanceUtils.getCurrentScope();
+            this.traceId = traceIdFor(scope);
+            this.spanId = randomHex(8);
+            this.threadId = thread.threadId();
+            this.threadName = thread.getName();
+            this.attributes = new LinkedHashMap<>();
+            current.set(this);
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Adds an attribute to the span. Attributes of no-op and ended spans are ignored.
+         * @param key The attribute name
+         * @param value The attribute value
+         * @return This span
+         */
+        public Span setAttribute(String key, Object value) {
+            if (!ended && value != null) {
+                attributes.put(key, String.valueOf(value));
+            }
+            return this;
+        }
+
+        /**
+         * Marks the span as failed.
+         * @param throwable The failure
+         * @return This span
+         */
+        public Span recordError(Throwable throwable) {
+            if (!ended) {
+                error = throwable.getClass().getSimpleName() + ": " + throwable.getMessage();
+            }
+            return this;
+        }
+
+        /**
+         * Ends the span and queues it for export. Ending an already ended span has no effect.
+         */
+        public void end() {
+            if (ended) {
+                return;
+            }
+            endNanos = System.nanoTime();
+            ended = true;
+            if (current.get() == this) {
+                // Skip parents that were ended out of order
+                Span open = parent;
+                while (open != null && open.ended) {
+                    open = open.parent;
+                }
+                if (open == null) {
+                    current.remove();
+                } else {
+                    current.set(open);
+                }
+            }
+            if (finishedCount.incrementAndGet() <= MAX_SPANS) {
+                finished.add(this);
+            } else {
+                finishedCount.decrementAndGet();
+                dropped.incrementAndGet();
+            }
+        }
+
+        /**
+         * Ends the span.
+         */
+        @Override
+        public void close() {
+            end();
+        }
+
+        /**
+         * Gets the span name.
+         * @return The name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the span category.
+         * @return The category
+         */
+        public String getCategory() {
+            return category;
+        }
+
+        /**
+         * Gets the span that was open on the same thread when this one started.
+         * @return The parent span, or null for a root span
+         */
+        public Span getParent() {
+            return parent;
+        }
+
+        /**
+         * Gets the 32 hex digit id of the trace, shared by all spans of a test scope.
+         * @return The trace id
+         */
+        public String getTraceId() {
+            return traceId;
+        }
+
+        /**
+         * Gets the 16 hex digit id of the span.
+         * @return The span id
+         */
+        public String getSpanId() {
+            return spanId;
+        }
+
+        /**
+         * Gets the metric scope that was active when the span started.
+         * @return The scope name
+         */
+        public String getScope() {
+            return scope;
+        }
+
+        /**
+         * Gets the id of the thread that ran the span.
+         * @return The thread id
+         */
+        public long getThreadId() {
+            return threadId;
+        }
+
+        /**
+         * Gets the name of the thread that ran the span.
+         * @return The thread name
+         */
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * Gets the {@link System#nanoTime()} value at which the span started.
+         * @return The start time in nanoseconds
+         */
+        public long getStartNanos() {
+            return startNanos;
+        }
+
+        /**
+         * Gets the {@link System#nanoTime()} value at which the span ended.
+         * @return The end time in nanoseconds, or 0 while the span is open
+         */
+        public long getEndNanos() {
+            return endNanos;
+        }
+
+        /**
+         * Gets the attributes of the span.
+         * @return A read-only view of the attributes
+         */
+        public Map<String, String> getAttributes() {
+            return Collections.unmodifiableMap(attributes);
+        }
+
+        /**
+         * Gets the failure recorded on the span.
+         * @return The error description, or null if the span succeeded
+         */
+        public String getError() {
+            return error;
+        }
+    }
+}
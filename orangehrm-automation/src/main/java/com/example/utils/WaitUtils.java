@@ -1,6 +1,7 @@
 package com.example.utils;
 
 import com.example.config.Constants;
+import com.example.config.ExecutionProfile;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
@@ -17,6 +18,7 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Utility class for waiting operations in Selenium.
@@ -26,6 +28,15 @@ public class WaitUtils {
 
     private static final Logger logger = LogManager.getLogger(WaitUtils.class);
 
+    /**
+     * Gets the default wait timeout of the current execution profile, which follows the environment and the
+     * default_timeout override.
+     * @return The timeout in seconds
+     */
+    public static int defaultTimeout() {
+        return ExecutionProfile.current().getDefaultTimeout();
+    }
+
     /**
      * Waits for an element to be visible.
      * @param driver The WebDriver instance
@@ -37,7 +48,7 @@ public class WaitUtils {
     public static WebElement waitForElementVisible(WebDriver driver, By locator, int timeoutInSeconds) {
         logger.debug("Waiting for element to be visible: {}", locator);
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return traced("waitForElementVisible", locator, () -> wait.until(ExpectedConditions.visibilityOfElementLocated(locator)));
     }
 
     /**
@@ -51,7 +62,7 @@ public class WaitUtils {
     public static WebElement waitForElementClickable(WebDriver driver, By locator, int timeoutInSeconds) {
         logger.debug("Waiting for element to be clickable: {}", locator);
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return traced("waitForElementClickable", locator, () -> wait.until(ExpectedConditions.elementToBeClickable(locator)));
     }
 
     /**
@@ -64,7 +75,7 @@ public class WaitUtils {
     public static void waitForUrlContains(WebDriver driver, String urlPart, int timeoutInSeconds) {
         logger.debug("Waiting for URL to contain: {}", urlPart);
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        wait.until(ExpectedConditions.urlContains(urlPart));
+        traced("waitForUrlContains", urlPart, () -> wait.until(ExpectedConditions.urlContains(urlPart)));
     }
 
     /**
@@ -78,7 +89,7 @@ public class WaitUtils {
     public static WebElement waitForElementPresent(WebDriver driver, By locator, int timeoutInSeconds) {
         logger.debug("Waiting for element to be present: {}", locator);
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return traced("waitForElementPresent", locator, () -> wait.until(ExpectedConditions.presenceOfElementLocated(locator)));
     }
 
     /**
@@ -91,7 +102,7 @@ public class WaitUtils {
     public static void waitForElementInvisible(WebDriver driver, By locator, int timeoutInSeconds) {
         logger.debug("Waiting for element to be invisible: {}", locator);
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        traced("waitForElementInvisible", locator, () -> wait.until(ExpectedConditions.invisibilityOfElementLocated(locator)));
     }
 
     /**
@@ -106,8 +117,8 @@ public class WaitUtils {
     public static WebElement waitForElementWithText(WebDriver driver, By locator, String text, int timeoutInSeconds) {
         logger.debug("Waiting for element with text: {} in {}", text, locator);
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text) ?
-                driver.findElement(locator) : null);
+        return traced("waitForElementWithText", locator, () -> wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text) ?
+                driver.findElement(locator) : null));
     }
 
     /**
@@ -121,7 +132,7 @@ public class WaitUtils {
     public static List<WebElement> waitForElementsPresent(WebDriver driver, By locator, int timeoutInSeconds) {
         logger.debug("Waiting for elements to be present: {}", locator);
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+        return traced("waitForElementsPresent", locator, () -> wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(locator)));
     }
 
     /**
@@ -135,7 +146,7 @@ public class WaitUtils {
     public static List<WebElement> waitForElementsVisible(WebDriver driver, By locator, int timeoutInSeconds) {
         logger.debug("Waiting for elements to be visible: {}", locator);
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        return wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+        return traced("waitForElementsVisible", locator, () -> wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator)));
     }
 
     /**
@@ -147,7 +158,7 @@ public class WaitUtils {
     public static void waitForPageLoad(WebDriver driver, int timeoutInSeconds) {
         logger.debug("Waiting for page to load");
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutInSeconds));
-        wait.until(driver1 -> ((JavascriptExecutor) driver1).executeScript("return document.readyState").equals("complete"));
+        traced("waitForPageLoad", null, () -> wait.until(driver1 -> ((JavascriptExecutor) driver1).executeScript("return document.readyState").equals("complete")));
     }
 
     /**
@@ -177,6 +188,18 @@ public class WaitUtils {
     public static <T> T waitForCondition(WebDriver driver, ExpectedCondition<T> condition, int timeoutInSeconds) {
         logger.debug("Waiting for custom condition");
         FluentWait<WebDriver> wait = createFluentWait(driver, timeoutInSeconds, Constants.POLLING_INTERVAL);
-        return wait.until(condition);
+        return traced("waitForCondition", null, () -> wait.until(condition));
+    }
+
+    /**
+     * Runs a wait inside a "wait" span, so time spent waiting shows up in test traces.
+     * @param name The name of the wait
+     * @param target The locator or URL waited for, or null
+     * @param condition Waits for the condition and returns its result
+     * @param <T> The type of the wait result
+     * @return The result of the wait
+     */
+    private static <T> T traced(String name, Object target, Supplier<T> condition) {
+        return Tracer.trace(Tracer.startSpan("WaitUtils." + name, "wait").setAttribute("target", target), condition);
     }
 }
\ No newline at end of file
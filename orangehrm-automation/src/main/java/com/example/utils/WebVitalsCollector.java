@@ -0,0 +1,151 @@
+package com.example.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects Navigation Timing Level 2 and Core Web Vitals from the browser's Performance Timeline.
+ * Buffered PerformanceObservers track Largest Contentful Paint, layout shifts (CLS), long tasks and
+ * interaction latency (INP). On Chromium browsers the observers are registered through the DevTools protocol
+ * before any page script runs, so every navigation is observed from its start; on other browsers they are
+ * injected when metrics are first collected, which still recovers buffered paint, LCP and layout shift entries
+ * but misses earlier long tasks and interactions.
+ */
+public class WebVitalsCollector {
+
+    private static final Logger logger = LogManager.getLogger(WebVitalsCollector.class);
+
+    /**
+     * Registers the observers in window.__orangehrmVitals once per document.
+     * CLS uses session windows (gaps below 1 s, at most 5 s long) and INP the worst interaction,
+     * or the 98th percentile once there are 50 or more.
+     */
+    private static final String OBSERVER_SCRIPT =
+            "(function () { " +
+            "    if (window.__orangehrmVitals || typeof PerformanceObserver === 'undefined') { return; } " +
+            "    var vitals = window.__orangehrmVitals = { " +
+            "        lcp: 0, cls: 0, longTaskCount: 0, longTaskTime: 0, totalBlockingTime: 0, " +
+            "        interactions: {}, observedFromStart: document.readyState === 'loading' " +
+            "    }; " +
+            "    function observe(type, onEntry, options) { " +
+            "        try { " +
+            "            var observer = new PerformanceObserver(function (list) { list.getEntries().forEach(onEntry); }); " +
+            "            var init = options || {}; " +
+            "            init.type = type; " +
+            "            init.buffered = true; " +
+            "            observer.observe(init); " +
+            "        } catch (e) { } " +
+            "    } " +
+            "    observe('largest-contentful-paint', function (entry) { vitals.lcp = entry.startTime; }); " +
+            "    var sessionValue = 0, sessionStart = -1, sessionLast = 0; " +
+            "    observe('layout-shift', function (entry) { " +
+            "        if (entry.hadRecentInput) { return; } " +
+            "        if (sessionStart >= 0 && entry.startTime - sessionLast < 1000 && entry.startTime - sessionStart < 5000) { " +
+            "            sessionValue += entry.value; " +
+            "        } else { " +
+            "            sessionValue = entry.value; " +
+            "            sessionStart = entry.startTime; " +
+            "        } " +
+            "        sessionLast = entry.startTime; " +
+            "        vitals.cls = Math.max(vitals.cls, sessionValue); " +
+            "    }); " +
+            "    observe('longtask', function (entry) { " +
+            "        vitals.longTaskCount++; " +
+            "        vitals.longTaskTime += entry.duration; " +
+            "        vitals.totalBlockingTime += Math.max(0, entry.duration - 50); " +
+            "    }); " +
+            "    observe('event', function (entry) { " +
+            "        if (entry.interactionId) { " +
+            "            vitals.interactions[entry.interactionId] = Math.max(vitals.interactions[entry.interactionId] || 0, entry.duration); " +
+            "        } " +
+            "    }, { durationThreshold: 16 }); " +
+            "})();";
+
+    /**
+     * Async script that installs the observers if needed, gives buffered entries a moment to be delivered
+     * and returns navigation timing, paint timing and the observed vitals.
+     */
+    private static final String COLLECT_SCRIPT =
+            "var done = arguments[arguments.length - 1]; " +
+            "var late = !window.__orangehrmVitals; " +
+            OBSERVER_SCRIPT +
+            "setTimeout(function () { " +
+            "    var result = {}; " +
+            "    var nav = performance.getEntriesByType ? performance.getEntriesByType('navigation')[0] : null; " +
+            "    if (nav) { " +
+            "        result.navigationType = nav.type; " +
+            "        result.ttfb = nav.responseStart; " +
+            "        result.tlsTime = nav.secureConnectionStart > 0 ? nav.connectEnd - nav.secureConnectionStart : 0; " +
+            "        result.domInteractive = nav.domInteractive; " +
+            "        result.domContentLoaded = nav.domContentLoadedEventEnd; " +
+            "        result.loadEventEnd = nav.loadEventEnd; " +
+            "        result.transferSize = nav.transferSize; " +
+            "    } " +
+            "    (performance.getEntriesByType ? performance.getEntriesByType('paint') : []).forEach(function (paint) { " +
+            "        if (paint.name === 'first-contentful-paint') { result.fcp = paint.startTime; } " +
+            "    }); " +
+            "    var vitals = window.__orangehrmVitals; " +
+            "    if (vitals) { " +
+            "        if (vitals.lcp > 0) { result.lcp = vitals.lcp; } " +
+            "        result.cls = vitals.cls.toFixed(3); " +
+            "        result.clsX1000 = Math.round(vitals.cls * 1000); " +
+            "        result.longTaskCount = vitals.longTaskCount; " +
+            "        result.longTaskTime = vitals.longTaskTime; " +
+            "        result.totalBlockingTime = vitals.totalBlockingTime; " +
+            "        var latencies = Object.keys(vitals.interactions).map(function (id) { return vitals.interactions[id]; }); " +
+            "        latencies.sort(function (a, b) { return b - a; }); " +
+            "        if (latencies.length > 0) { " +
+            "            result.inp = latencies[Math.min(latencies.length - 1, Math.floor(latencies.length / 50))]; " +
+            "        } " +
+            "        result.observedFromStart = !late && vitals.observedFromStart; " +
+            "    } " +
+            "    done(result); " +
+            "}, late ? 100 : 0);";
+
+    /**
+     * Registers the observers for every document the browser loads from now on.
+     * Only Chromium browsers support this; other browsers fall back to injection on collection.
+     * @param driver The WebDriver instance
+     * @return true if the observers will run at the start of every navigation
+     */
+    public static boolean install(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            logger.debug("Browser has no DevTools protocol, web vitals observers are injected on collection");
+            return false;
+        }
+        try {
+            Map<String, Object> parameters = new HashMap<>();
+            parameters.put("source", OBSERVER_SCRIPT);
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", parameters);
+            logger.debug("Installed web vitals observers for new documents");
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to install web vitals observers: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Collects navigation timing, paint timing and Core Web Vitals of the current document.
+     * Times are in milliseconds since the start of the navigation; "clsX1000" is the CLS score times 1000,
+     * and "cls" the score itself as text.
+     * @param driver The WebDriver instance
+     * @return A map of metric name to value, empty if collection failed
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> collect(WebDriver driver) {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(COLLECT_SCRIPT);
+            return result instanceof Map ? (Map<String, Object>) result : new HashMap<>();
+        } catch (Exception e) {
+            logger.error("Failed to collect web vitals: {}", e.getMessage(), e);
+            return new HashMap<>();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.dataproviders;
+
+/**
+ * Employee test-data record, matching the columns of the generated employees dataset.
+ * Bound directly from JSON with {@code DataUtils.readJsonRecords} or {@code LazyDataProvider.fromRecords}.
+ * @param employeeId The employee ID
+ * @param firstName The first name
+ * @param middleName The middle name, empty if none
+ * @param lastName The last name
+ * @param jobTitle The job title
+ * @param employmentStatus The employment status
+ * @param subUnit The organisational sub unit
+ * @param location The office location
+ * @param joinedDate The joined date (yyyy-MM-dd)
+ * @param email The work email address
+ */
+public record EmployeeRecord(
+        String employeeId,
+        String firstName,
+        String middleName,
+        String lastName,
+        String jobTitle,
+        String employmentStatus,
+        String subUnit,
+        String location,
+        String joinedDate,
+        String email) {
+
+    /**
+     * Gets the name as displayed in the PIM employee list.
+     * @return The first and middle name followed by the last name
+     */
+    public String displayName() {
+        return middleName == null || middleName.isEmpty()
+                ? firstName + " " + lastName
+                : firstName + " " + middleName + " " + lastName;
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.dataproviders;
+
+import com.example.utils.ColumnarFixture;
+import com.example.utils.CsvReader;
+import com.example.utils.DataUtils;
+import com.example.utils.DatabaseFixtures;
+import com.example.utils.FixtureCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Builds TestNG data provider iterators that produce rows on demand from the DataUtils sources.
+ * Source rows are read one at a time, rows that belong to other shards are skipped before they are mapped,
+ * and the returned iterators may be consumed from several threads, so providers declared with
+ * {@code parallel = true} are safe. Row mappers must not share mutable state between rows.
+ */
+public final class LazyDataProvider {
+
+    private static final Logger logger = LogManager.getLogger(LazyDataProvider.class);
+
+    private LazyDataProvider() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Creates a data provider over a comma-separated CSV file, skipping the header row.
+     * @param fileName The name of the CSV file (without path)
+     * @param rowMapper Converts the CSV fields of a row into test method arguments
+     * @return An iterator of test method arguments for the current shard
+     */
+    public static Iterator<Object[]> fromCsv(String fileName, Function<String[], Object[]> rowMapper) {
+        CsvReader reader = DataUtils.openCsv(fileName);
+        if (reader.hasNext()) {
+            reader.next(); // Skip header row
+        }
+        return from(reader, rowMapper);
+    }
+
+    /**
+     * Creates a data provider over a comma-separated CSV file that is shared through the fixture cache,
+     * skipping the header row. Suited to small and medium fixtures read by several providers.
+     * @param fileName The name of the CSV file (without path)
+     * @param rowMapper Converts the CSV fields of a row into test method arguments
+     * @return An iterator of test method arguments for the current shard
+     */
+    public static Iterator<Object[]> fromCachedCsv(String fileName, Function<String[], Object[]> rowMapper) {
+        List<String[]> rows = FixtureCache.getCsv(fileName);
+        return from(rows.subList(Math.min(1, rows.size()), rows.size()).iterator(), rowMapper);
+    }
+
+    /**
+     * Creates a data provider over an array in a JSON file that is shared through the fixture cache.
+     * Suited to small and medium fixtures read by several providers.
+     * @param fileName The name of the JSON file (without path)
+     * @param arrayField The name of the top-level field holding the array
+     * @param rowMapper Converts an array element into test method arguments
+     * @return An iterator of test method arguments for the current shard
+     */
+    public static Iterator<Object[]> fromJson(String fileName, String arrayField, Function<JsonNode, Object[]> rowMapper) {
+        return from(FixtureCache.getJson(fileName).path(arrayField).elements(), rowMapper);
+    }
+
+    /**
+     * Creates a data provider that streams an array from a JSON file without parsing the whole file.
+     * Suited to large generated fixtures.
+     * @param fileName The name of the JSON file (without path)
+     * @param arrayField The name of the top-level field holding the array, or null if the root is an array
+     * @param rowMapper Converts an array element into test method arguments
+     * @return An iterator of test method arguments for the current shard
+     */
+    public static Iterator<Object[]> streamJson(String fileName, String arrayField, Function<JsonNode, Object[]> rowMapper) {
+        return from(FixtureCache.streamArray(fileName, arrayField), rowMapper);
+    }
+
+    /**
+     * Creates a data provider that streams an array from a JSON file, binding each element to a record type
+     * as it is parsed.
+     * @param fileName The name of the JSON file (without path)
+     * @param arrayField The name of the top-level field holding the array, or null if the root is an array
+     * @param type The record type
+     * @param rowMapper Converts a record into test method arguments
+     * @param <T> The record type
+     * @return An iterator of test method arguments for the current shard
+     */
+    public static <T> Iterator<Object[]> fromRecords(String fileName, String arrayField, Class<T> type,
+                                                     Function<T, Object[]> rowMapper) {
+        return from(DataUtils.streamJsonRecords(fileName, arrayField, type), rowMapper);
+    }
+
+    /**
+     * Creates a data provider over a CSV file converted to the binary columnar format, skipping the conversion
+     * when the columnar copy is up to date. Suited to large CSV sets that are reused across runs.
+     * Rows of other shards are skipped by index without being decoded.
+     * @param fileName The name of the CSV file (without path)
+     * @param rowMapper Converts the values of a row into test method arguments
+     * @return An iterator of test method arguments for the current shard
+     */
+    public static Iterator<Object[]> fromColumnar(String fileName, Function<String[], Object[]> rowMapper) {
+        Shard shard = Shard.current();
+        if (shard.getCount() > 1) {
+            logger.info("Providing rows for {}", shard);
+        }
+        return from(ColumnarFixture.loadCsv(fileName).iterator(shard.getIndex(), shard.getCount()), rowMapper, Shard.ALL);
+    }
+
+    /**
+     * Creates a data provider over a fixture table in the test data database, read through a cursor.
+     * @param table The table name
+     * @param columns The columns passed to the row mapper, in order
+     * @param rowMapper Converts the column values of a row into test method arguments
+     * @return An iterator of test method arguments for the current shard
+     */
+    public static Iterator<Object[]> fromTable(String table, String[] columns, Function<Object[], Object[]> rowMapper) {
+        return from(new DatabaseFixtures().readTable(table, columns), rowMapper);
+    }
+
+    /**
+     * Creates a data provider over any row source for the configured shard.
+     * @param source The source rows
+     * @param rowMapper Converts a source row into test method arguments
+     * @param <T> The source row type
+     * @return An iterator of test method arguments for the current shard
+     */
+    public static <T> Iterator<Object[]> from(Iterator<T> source, Function<T, Object[]> rowMapper) {
+        return from(source, rowMapper, Shard.current());
+    }
+
+    /**
+     * Creates a data provider over any row source for the given shard.
+     * @param source The source rows
+     * @param rowMapper Converts a source row into test method arguments
+     * @param shard The shard whose rows are returned
+     * @param <T> The source row type
+     * @return An iterator of test method arguments for the shard
+     */
+    public static <T> Iterator<Object[]> from(Iterator<T> source, Function<T, Object[]> rowMapper, Shard shard) {
+        if (shard.getCount() > 1) {
+            logger.info("Providing rows for {}", shard);
+        }
+        return new ShardedIterator<>(source, rowMapper, shard);
+    }
+
+    /**
+     * Iterator that reads the source under a lock and maps rows outside of it.
+     * @param <T> The source row type
+     */
+    private static class ShardedIterator<T> implements Iterator<Object[]> {
+        private final Iterator<T> source;
+        private final Function<T, Object[]> rowMapper;
+        private final Shard shard;
+        private long ordinal;
+        private T next;
+
+        ShardedIterator(Iterator<T> source, Function<T, Object[]> rowMapper, Shard shard) {
+            this.source = source;
+            this.rowMapper = rowMapper;
+            this.shard = shard;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            while (next == null && source.hasNext()) {
+                T candidate = source.next();
+                if (shard.owns(ordinal++)) {
+                    next = candidate;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            T row;
+            synchronized (this) {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more data provider rows");
+                }
+                row = next;
+                next = null;
+            }
+            return rowMapper.apply(row);
+        }
+    }
+}
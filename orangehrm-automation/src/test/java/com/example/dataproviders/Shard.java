@@ -0,0 +1,82 @@
+package com.example.dataproviders;
+
+import com.example.config.ConfigReader;
+import com.example.config.ConfigSnapshot;
+
+/**
+ * Identifies the slice of data-driven rows executed by this node in a multi-node run.
+ * Rows are assigned round-robin by their position in the source, so every node sees the same assignment
+ * without coordination as long as all nodes read the same data.
+ */
+public final class Shard {
+
+    /** A single node that runs every row. */
+    public static final Shard ALL = new Shard(0, 1);
+
+    private final int index;
+    private final int count;
+
+    /**
+     * Constructor for the Shard.
+     * @param index The zero-based index of this node
+     * @param count The total number of nodes
+     */
+    public Shard(int index, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1: " + count);
+        }
+        if (index < 0 || index >= count) {
+            throw new IllegalArgumentException("Shard index must be between 0 and " + (count - 1) + ": " + index);
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    /**
+     * Gets the shard configured for this run.
+     * The "shard_index" and "shard_count" properties default to a single shard and can be set with
+     * system properties (-Dshard_index=1) or environment variables (ORANGEHRM_SHARD_INDEX).
+     * @return The configured shard
+     * @throws IllegalArgumentException if the properties are not integers or the index is not below the count
+     */
+    public static Shard current() {
+        ConfigSnapshot config = ConfigReader.getSnapshot();
+        int count = config.getInt("shard_count", 1);
+        int index = config.getInt("shard_index", 0);
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard configuration: shard_index must be between 0 and shard_count - 1"
+                    + " and shard_count at least 1, but shard_index=" + index + " and shard_count=" + count);
+        }
+        return count == 1 ? ALL : new Shard(index, count);
+    }
+
+    /**
+     * Checks whether a row belongs to this shard.
+     * @param ordinal The zero-based position of the row in its source
+     * @return true if this node should run the row
+     */
+    public boolean owns(long ordinal) {
+        return ordinal % count == index;
+    }
+
+    /**
+     * Gets the zero-based index of this node.
+     * @return The shard index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the total number of nodes.
+     * @return The shard count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "shard " + (index + 1) + "/" + count;
+    }
+}
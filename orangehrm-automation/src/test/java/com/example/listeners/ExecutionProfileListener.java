@@ -0,0 +1,45 @@
+package com.example.listeners;
+
+import com.example.config.ExecutionProfile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+
+/**
+ * TestNG listener that applies the environment's execution profile to the suite scheduler.
+ * Suite, test and data provider thread counts from testng.xml are capped at the profile's session limit,
+ * so a suite tuned for LOCAL does not open more browsers than a shared environment allows.
+ */
+public class ExecutionProfileListener implements IAlterSuiteListener {
+
+    private static final Logger logger = LogManager.getLogger(ExecutionProfileListener.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ExecutionProfile profile = ExecutionProfile.current();
+        int limit = profile.getMaxParallelSessions();
+        logger.info("Applying {}", profile);
+
+        for (XmlSuite suite : suites) {
+            if (suite.getThreadCount() > limit) {
+                logger.info("Capping thread count of suite '{}' from {} to {}", suite.getName(), suite.getThreadCount(), limit);
+                suite.setThreadCount(limit);
+            }
+            if (suite.getDataProviderThreadCount() > limit) {
+                logger.info("Capping data provider thread count of suite '{}' from {} to {}",
+                        suite.getName(), suite.getDataProviderThreadCount(), limit);
+                suite.setDataProviderThreadCount(limit);
+            }
+            for (XmlTest test : suite.getTests()) {
+                if (test.getThreadCount() > limit) {
+                    logger.info("Capping thread count of test '{}' from {} to {}", test.getName(), test.getThreadCount(), limit);
+                    test.setThreadCount(limit);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.listeners;
+
+import com.example.config.ConfigReader;
+import com.example.utils.MetricStore;
+import com.example.utils.PerformanceBudget;
+import com.example.utils.PerformanceHistory;
+import com.example.utils.PerformanceReporter;
+import com.example.utils.RegressionDetector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates the performance budgets and the regression check once per suite.
+ * It is called from the suite's final configuration method (see BaseTest) rather than from a listener, so that
+ * a failure is reported by TestNG and Surefire as a regular configuration failure and every reporter still runs.
+ * "performance_budget_mode" and "performance_regression_mode" decide whether findings are only reported ("warn"),
+ * also fail the suite ("fail") or are not checked at all ("off").
+ */
+public final class PerformanceGate {
+
+    private static final Logger logger = LogManager.getLogger(PerformanceGate.class);
+    private static final Map<String, List<String>> checkedSuites = new ConcurrentHashMap<>();
+
+    private PerformanceGate() {
+    }
+
+    /**
+     * Checks the samples of the suite against the budgets and the history, writing both reports.
+     * Later calls for the same suite return the first call's outcome without checking again.
+     * @param suiteName The suite name, used in the report file names
+     * @return The reasons to fail the suite, empty if it should not fail
+     */
+    public static List<String> check(String suiteName) {
+        return checkedSuites.computeIfAbsent(suiteName, name -> {
+            List<String> failures = new ArrayList<>();
+            failures.addAll(checkPerformanceBudgets(name));
+            failures.addAll(checkPerformanceRegressions(name));
+            return failures;
+        });
+    }
+
+    /**
+     * Evaluates the performance budgets against all samples of the suite and writes the budget report.
+     * @param suiteName The suite name
+     * @return The reason to fail the suite, empty if it should not fail
+     */
+    private static List<String> checkPerformanceBudgets(String suiteName) {
+        String mode = mode("performance_budget_mode");
+        PerformanceBudget budget = PerformanceBudget.getConfigured();
+        if ("off".equals(mode) || budget.isEmpty()) {
+            return List.of();
+        }
+
+        List<PerformanceBudget.Result> results = budget.evaluate(MetricStore.getInstance());
+        List<PerformanceBudget.Result> exceeded = results.stream().filter(result -> !result.isPassed()).collect(Collectors.toList());
+        PerformanceReporter.generateBudgetReport(suiteName, results);
+        if (exceeded.isEmpty()) {
+            logger.info("All {} performance budgets met", results.size());
+            return List.of();
+        }
+        exceeded.forEach(result -> logger.warn("Performance budget exceeded: {}, by tests {}", result, result.getOffendingScopes()));
+
+        if (!"fail".equals(mode)) {
+            return List.of();
+        }
+        return List.of(exceeded.size() + " performance budgets exceeded: " + exceeded.stream()
+                .map(result -> result + " by " + result.getOffendingScopes())
+                .collect(Collectors.joining("; ")));
+    }
+
+    /**
+     * Compares the suite's samples with the previous runs in the performance history, writes the regression
+     * report and, if runs are recorded, appends the run to the history.
+     * @param suiteName The suite name
+     * @return The reason to fail the suite, empty if it should not fail
+     */
+    private static List<String> checkPerformanceRegressions(String suiteName) {
+        String mode = mode("performance_regression_mode");
+        MetricStore store = MetricStore.getInstance();
+        if ("off".equals(mode) || store.getScopes().isEmpty()) {
+            return List.of();
+        }
+
+        PerformanceHistory history = PerformanceHistory.getDefault();
+        String runId = PerformanceHistory.getRunId();
+        List<RegressionDetector.Comparison> comparisons = RegressionDetector.fromConfig().detect(history, store, runId);
+        if (PerformanceHistory.isRecording()) {
+            history.append(runId, store);
+        } else {
+            logger.info("performance_run_id is not set, run not appended to the performance history");
+        }
+        PerformanceReporter.generateRegressionReport(suiteName, comparisons);
+
+        List<RegressionDetector.Comparison> regressions = comparisons.stream()
+                .filter(RegressionDetector.Comparison::isRegression).collect(Collectors.toList());
+        if (regressions.isEmpty()) {
+            logger.info("No performance regressions in {} metrics with history", comparisons.size());
+            return List.of();
+        }
+        regressions.forEach(regression -> logger.warn("Performance regression: {}", regression));
+        if (!"fail".equals(mode)) {
+            return List.of();
+        }
+        return List.of(regressions.size() + " performance regressions: "
+                + regressions.stream().map(Object::toString).collect(Collectors.joining("; ")));
+    }
+
+    private static String mode(String key) {
+        return ConfigReader.getProperty(key, "warn").trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.listeners;
 
+import com.example.config.ConfigReader;
 import com.example.config.Constants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,7 +16,17 @@ public class RetryAnalyzer implements IRetryAnalyzer {
 
     // Thread-local variables to support parallel test execution
     private static final ThreadLocal<Integer> retryCount = new ThreadLocal<>();
-    private static int maxRetryCount = Constants.RETRY_COUNT;
+    private static volatile int maxRetryCount = Constants.RETRY_COUNT;
+
+    static {
+        // Pick up retry count changes from live configuration reloads
+        ConfigReader.addChangeListener((previous, current) -> {
+            if (previous.getRetryCount() != current.getRetryCount()) {
+                logger.info("Retry count changed from {} to {}", previous.getRetryCount(), current.getRetryCount());
+                setMaxRetryCount(current.getRetryCount());
+            }
+        });
+    }
 
     /**
      * Sets the maximum retry count.
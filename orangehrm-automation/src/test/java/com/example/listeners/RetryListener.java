@@ -1,7 +1,6 @@
 package com.example.listeners;
 
 import com.example.config.ConfigReader;
-import com.example.config.Constants;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.IAnnotationTransformer;
@@ -29,21 +28,9 @@ public class RetryListener implements IAnnotationTransformer {
             logger.debug("Setting retry analyzer for method: {}", testMethod.getName());
         }
         
-        // Get retry count from configuration or use default
-        String retryCountStr = ConfigReader.getProperty("retryCount");
-        if (retryCountStr != null) {
-            try {
-                int retryCount = Integer.parseInt(retryCountStr);
-                RetryAnalyzer.setMaxRetryCount(retryCount);
-                logger.info("Set retry count to {} from configuration", retryCount);
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid retry count in configuration: {}, using default: {}", 
-                        retryCountStr, Constants.RETRY_COUNT);
-                RetryAnalyzer.setMaxRetryCount(Constants.RETRY_COUNT);
-            }
-        } else {
-            logger.info("Using default retry count: {}", Constants.RETRY_COUNT);
-            RetryAnalyzer.setMaxRetryCount(Constants.RETRY_COUNT);
-        }
+        // Retry count is parsed and validated once when the configuration snapshot is built
+        int retryCount = ConfigReader.getSnapshot().getRetryCount();
+        RetryAnalyzer.setMaxRetryCount(retryCount);
+        logger.debug("Set retry count to {} from configuration", retryCount);
     }
 }
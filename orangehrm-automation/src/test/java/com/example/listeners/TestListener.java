@@ -1,7 +1,10 @@
 package com.example.listeners;
 
 import com.example.config.Constants;
+import com.example.utils.PerformanceUtils;
 import com.example.utils.ScreenshotUtils;
+import com.example.utils.TraceExporter;
+import com.example.utils.Tracer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
@@ -10,6 +13,8 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogEntry;
 import org.openqa.selenium.logging.LogType;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
@@ -26,20 +31,26 @@ import java.util.Date;
 /**
  * TestNG listener for test execution events.
  * This class provides logging, screenshot capture, and browser log capture for test events.
+ * Each test runs in a "test" span, and the suite's spans are exported when the suite finishes.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener {
 
     private static final Logger logger = LogManager.getLogger(TestListener.class);
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+    private static final String SPAN_ATTRIBUTE = "traceSpan";
 
     @Override
     public void onTestStart(ITestResult result) {
         logger.info("Starting test: {}", result.getMethod().getQualifiedName());
+        PerformanceUtils.beginScope(result.getMethod().getQualifiedName());
+        result.setAttribute(SPAN_ATTRIBUTE, Tracer.startSpan(result.getMethod().getQualifiedName(), "test"));
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
         logger.info("Test succeeded: {}", result.getMethod().getQualifiedName());
+        endTestSpan(result);
+        PerformanceUtils.endScope();
     }
 
     @Override
@@ -47,7 +58,22 @@ public class TestListener implements ITestListener {
         String testName = result.getMethod().getMethodName();
         String className = result.getTestClass().getRealClass().getSimpleName();
         logger.error("Test failed: {}.{}", className, testName, result.getThrowable());
+        try {
+            // Capture the evidence inside the test's span and scope, so its driver calls belong to the failed test
+            captureFailureEvidence(result, className, testName);
+        } finally {
+            endTestSpan(result);
+            PerformanceUtils.endScope();
+        }
+    }
 
+    /**
+     * Saves a screenshot, the browser logs and the page source of a failed test.
+     * @param result The test result
+     * @param className The simple name of the test class
+     * @param testName The test method name
+     */
+    private void captureFailureEvidence(ITestResult result, String className, String testName) {
         // Get WebDriver instance
         WebDriver driver = getDriverFromResult(result);
         if (driver == null) {
@@ -79,11 +105,15 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestSkipped(ITestResult result) {
         logger.warn("Test skipped: {}", result.getMethod().getQualifiedName());
+        endTestSpan(result);
+        PerformanceUtils.endScope();
     }
 
     @Override
     public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
         logger.warn("Test failed but within success percentage: {}", result.getMethod().getQualifiedName());
+        endTestSpan(result);
+        PerformanceUtils.endScope();
     }
 
     @Override
@@ -111,6 +141,31 @@ public class TestListener implements ITestListener {
                 total, passed, failed, skipped);
     }
 
+    @Override
+    public void onFinish(ISuite suite) {
+        if (Tracer.isEnabled()) {
+            TraceExporter.writeReports(suite.getName());
+        }
+    }
+
+    /**
+     * Ends the span of a test, marking it as failed if the test threw.
+     * @param result The test result
+     */
+    private void endTestSpan(ITestResult result) {
+        Object span = result.getAttribute(SPAN_ATTRIBUTE);
+        if (span instanceof Tracer.Span) {
+            Tracer.Span testSpan = (Tracer.Span) span;
+            testSpan.setAttribute("status", result.getStatus() == ITestResult.SUCCESS ? "passed"
+                    : result.getStatus() == ITestResult.SKIP ? "skipped" : "failed");
+            if (result.getThrowable() != null) {
+                testSpan.recordError(result.getThrowable());
+            }
+            testSpan.end();
+            result.removeAttribute(SPAN_ATTRIBUTE);
+        }
+    }
+
     /**
      * Gets the WebDriver instance from the test result.
      * @param result The test result
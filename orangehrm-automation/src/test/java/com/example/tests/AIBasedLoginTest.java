@@ -88,6 +88,7 @@ public class AIBasedLoginTest extends BaseTest {
         PerformanceUtils.stopPageLoadTimer("LoginPage");
         PerformanceUtils.capturePerformanceMetrics(driver, "LoginPage");
         PerformanceUtils.captureResourceTiming(driver, "LoginPage");
+        PerformanceUtils.captureWebVitals(driver, "LoginPage");
         
         // Save baseline for visual comparison if it doesn't exist
         String baselinePath = VisualComparisonUtils.saveBaseline(driver, "LoginPage");
@@ -200,6 +201,7 @@ public class AIBasedLoginTest extends BaseTest {
         // Capture performance metrics for dashboard page
         PerformanceUtils.capturePerformanceMetrics(driver, "DashboardPage");
         PerformanceUtils.captureResourceTiming(driver, "DashboardPage");
+        PerformanceUtils.captureWebVitals(driver, "DashboardPage");
         
         // Validate dashboard page with Applitools
         applitoolsConnector.openTest(driver, "OrangeHRM", "DashboardPageVisualTest");
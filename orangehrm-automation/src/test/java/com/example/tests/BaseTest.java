@@ -2,18 +2,24 @@ package com.example.tests;
 
 import com.example.config.ConfigReader;
 import com.example.core.DriverFactory;
+import com.example.listeners.PerformanceGate;
 import com.example.pages.LoginPage;
 import com.example.utils.ScreenshotUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Parameters;
 
+import java.util.List;
+
 /**
  * Base class for all test classes.
  * This class provides common setup and teardown methods for tests.
@@ -72,6 +78,19 @@ public abstract class BaseTest {
     @AfterClass
     public void teardownClass() {
         logger.info("Finishing test class: {}", getClass().getSimpleName());
-        DriverFactory.quitDriver();
+        DriverFactory.quitDriver(driver);
+    }
+
+    /**
+     * Checks the suite's performance budgets and history once all tests have run.
+     * Failing here reports the suite as failed through TestNG's regular configuration failure handling.
+     * @param context The test context of the finishing suite
+     */
+    @AfterSuite(alwaysRun = true)
+    public void verifyPerformance(ITestContext context) {
+        List<String> failures = PerformanceGate.check(context.getSuite().getName());
+        if (!failures.isEmpty()) {
+            Assert.fail(String.join("; ", failures));
+        }
     }
-}
\ No newline at end of file
+}
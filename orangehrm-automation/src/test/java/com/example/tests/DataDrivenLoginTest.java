@@ -1,18 +1,14 @@
 package com.example.tests;
 
 import com.example.config.Constants;
+import com.example.dataproviders.LazyDataProvider;
 import com.example.pages.DashboardPage;
-import com.example.utils.DataUtils;
 import com.example.utils.WaitUtils;
-import org.json.JSONArray;
-import org.json.JSONObject;
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
-import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.List;
 
 /**
  * Data-driven tests for the login functionality using JSON data.
@@ -25,25 +21,11 @@ public class DataDrivenLoginTest extends BaseTest {
      */
     @DataProvider(name = "validLoginData")
     public Iterator<Object[]> getValidLoginData() {
-        List<Object[]> testData = new ArrayList<>();
-        
-        try {
-            JSONObject jsonData = DataUtils.readDataFromJson("users.json");
-            JSONArray validUsers = jsonData.getJSONArray("validUsers");
-            
-            for (int i = 0; i < validUsers.length(); i++) {
-                JSONObject user = validUsers.getJSONObject(i);
-                testData.add(new Object[] {
-                    user.getString("username"),
-                    user.getString("password"),
-                    user.getString("role")
-                });
-            }
-        } catch (Exception e) {
-            logger.error("Error reading test data: {}", e.getMessage(), e);
-        }
-        
-        return testData.iterator();
+        return LazyDataProvider.fromJson("users.json", "validUsers", user -> new Object[] {
+            user.path("username").asText(),
+            user.path("password").asText(),
+            user.path("role").asText()
+        });
     }
     
     /**
@@ -52,25 +34,11 @@ public class DataDrivenLoginTest extends BaseTest {
      */
     @DataProvider(name = "invalidLoginData")
     public Iterator<Object[]> getInvalidLoginData() {
-        List<Object[]> testData = new ArrayList<>();
-        
-        try {
-            JSONObject jsonData = DataUtils.readDataFromJson("users.json");
-            JSONArray invalidUsers = jsonData.getJSONArray("invalidUsers");
-            
-            for (int i = 0; i < invalidUsers.length(); i++) {
-                JSONObject user = invalidUsers.getJSONObject(i);
-                testData.add(new Object[] {
-                    user.getString("username"),
-                    user.getString("password"),
-                    user.getString("errorMessage")
-                });
-            }
-        } catch (Exception e) {
-            logger.error("Error reading test data: {}", e.getMessage(), e);
-        }
-        
-        return testData.iterator();
+        return LazyDataProvider.fromJson("users.json", "invalidUsers", user -> new Object[] {
+            user.path("username").asText(),
+            user.path("password").asText(),
+            user.path("errorMessage").asText()
+        });
     }
     
     /**
@@ -88,7 +56,7 @@ public class DataDrivenLoginTest extends BaseTest {
         DashboardPage dashboardPage = loginPage.login(username, password);
         
         // Verify login was successful
-        WaitUtils.waitForUrlContains(driver, "/dashboard", Constants.DEFAULT_TIMEOUT);
+        WaitUtils.waitForUrlContains(driver, "/dashboard", WaitUtils.defaultTimeout());
         Assert.assertTrue(driver.getCurrentUrl().contains("/dashboard"), 
                 "Login failed: URL does not contain '/dashboard'");
         Assert.assertTrue(dashboardPage.isAdminMenuPresent(), 
@@ -117,50 +85,56 @@ public class DataDrivenLoginTest extends BaseTest {
                 "Expected error message not displayed. Actual message: " + errorMessage);
     }
     
+    /**
+     * Data provider for login credentials from CSV file.
+     * Rows are parsed lazily as TestNG requests them.
+     * @return Iterator of Object arrays containing login data
+     */
+    @DataProvider(name = "csvLoginData")
+    public Iterator<Object[]> getCsvLoginData() {
+        return LazyDataProvider.fromCsv("login_data.csv", row -> new Object[] {
+            row[0],
+            row[1],
+            Boolean.parseBoolean(row[2]),
+            row.length > 3 ? row[3] : ""
+        });
+    }
+
     /**
      * Tests login with data from CSV file.
+     * @param username The username
+     * @param password The password
+     * @param shouldSucceed Whether the login should succeed
+     * @param expectedError The expected error message if login should fail
      */
-    @Test(priority = 3, description = "Verify login with data from CSV file")
-    public void testLoginWithCsvData() {
-        logger.info("Testing login with CSV data");
-        
-        List<String[]> csvData = DataUtils.readDataFromCsv("login_data.csv");
-        
-        // Skip header row
-        for (int i = 1; i < csvData.size(); i++) {
-            String[] row = csvData.get(i);
-            String username = row[0];
-            String password = row[1];
-            boolean shouldSucceed = Boolean.parseBoolean(row[2]);
-            String expectedError = row[3];
-            
-            logger.info("Testing login with username: {}, shouldSucceed: {}", username, shouldSucceed);
-            
-            // Navigate to login page if not already there
-            if (!driver.getCurrentUrl().contains("/auth/login")) {
-                driver.get(Constants.BASE_URL);
-            }
-            
-            // Perform login
-            loginPage.enterUsername(username)
-                     .enterPassword(password)
-                     .clickLoginButton();
-            
-            if (shouldSucceed) {
-                // Verify successful login
-                WaitUtils.waitForUrlContains(driver, "/dashboard", Constants.DEFAULT_TIMEOUT);
-                Assert.assertTrue(driver.getCurrentUrl().contains("/dashboard"), 
-                        "Login should have succeeded but failed");
-                
-                // Logout for next test
-                // TODO: Implement logout functionality
-                driver.get(Constants.BASE_URL);
-            } else {
-                // Verify error message
-                String errorMessage = loginPage.getErrorMessage();
-                Assert.assertEquals(errorMessage, expectedError, 
-                        "Expected error message not displayed. Actual message: " + errorMessage);
-            }
+    @Test(dataProvider = "csvLoginData", priority = 3, description = "Verify login with data from CSV file")
+    public void testLoginWithCsvData(String username, String password, boolean shouldSucceed, String expectedError) {
+        logger.info("Testing login with username: {}, shouldSucceed: {}", username, shouldSucceed);
+
+        // Navigate to login page if not already there
+        if (!driver.getCurrentUrl().contains("/auth/login")) {
+            driver.get(Constants.BASE_URL);
+        }
+
+        // Perform login
+        loginPage.enterUsername(username)
+                 .enterPassword(password)
+                 .clickLoginButton();
+
+        if (shouldSucceed) {
+            // Verify successful login
+            WaitUtils.waitForUrlContains(driver, "/dashboard", WaitUtils.defaultTimeout());
+            Assert.assertTrue(driver.getCurrentUrl().contains("/dashboard"),
+                    "Login should have succeeded but failed");
+
+            // Logout for next test
+            // TODO: Implement logout functionality
+            driver.get(Constants.BASE_URL);
+        } else {
+            // Verify error message
+            String errorMessage = loginPage.getErrorMessage();
+            Assert.assertEquals(errorMessage, expectedError,
+                    "Expected error message not displayed. Actual message: " + errorMessage);
         }
     }
 }
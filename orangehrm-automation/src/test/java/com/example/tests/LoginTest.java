@@ -28,7 +28,7 @@ public class LoginTest extends BaseTest {
         DashboardPage dashboardPage = loginPage.login(username, password);
 
         // Verify login was successful
-        WaitUtils.waitForUrlContains(driver, "/dashboard", Constants.DEFAULT_TIMEOUT);
+        WaitUtils.waitForUrlContains(driver, "/dashboard", WaitUtils.defaultTimeout());
         Assert.assertTrue(driver.getCurrentUrl().contains("/dashboard"),
                 "Login failed: URL does not contain '/dashboard'");
         Assert.assertTrue(dashboardPage.isAdminMenuPresent(),
@@ -104,7 +104,7 @@ public class LoginTest extends BaseTest {
 
         if (shouldSucceed) {
             // Verify successful login
-            WaitUtils.waitForUrlContains(driver, "/dashboard", Constants.DEFAULT_TIMEOUT);
+            WaitUtils.waitForUrlContains(driver, "/dashboard", WaitUtils.defaultTimeout());
             Assert.assertTrue(driver.getCurrentUrl().contains("/dashboard"),
                     "Login should have succeeded but failed");
         } else {
@@ -1,26 +1,37 @@
 package com.example.tests;
 
 import com.example.config.ConfigReader;
+import com.example.pages.PIMPage;
+import com.example.pages.PageNavigator;
 import com.example.utils.ScreenshotUtils;
-import com.example.utils.WaitUtils;
-import org.openqa.selenium.By;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 public class SearchEmployeeTest extends BaseTest {
 
     @Test
     public void testSearchEmployeeByName() {
         logger.info("Starting test: testSearchEmployeeByName");
         try {
-            // Placeholder for test logic
-            // Example:
-            // 1. Navigate to the employee search page (using page objects)
-            // 2. Enter an employee name in the search field (read from config or use a test data value)
-            // 3. Click the search button
-            // 4. Wait for the search results to load (using WaitUtils)
-            // 5. Assert that the expected employee is present in the search results (using page objects to interact with the results)
-            Assert.assertTrue(true, "Placeholder assertion - replace with actual validation");
+            String searchName = ConfigReader.getProperty("searchEmployeeName", "a");
+
+            PIMPage pimPage = new PageNavigator(driver).toPIM();
+            pimPage.searchByEmployeeName(searchName);
+
+            // Stream every result page; each page is read in a single script call
+            String term = searchName.toLowerCase(Locale.ROOT);
+            List<Map<String, String>> mismatches = pimPage.streamEmployeeRows()
+                    .filter(row -> !(row.getOrDefault("First (& Middle) Name", "") + " " + row.getOrDefault("Last Name", ""))
+                            .toLowerCase(Locale.ROOT).contains(term))
+                    .collect(Collectors.toList());
+
+            Assert.assertTrue(mismatches.isEmpty(),
+                    "Search results contain employees not matching '" + searchName + "': " + mismatches);
         } catch (Exception e) {
             logger.error("Test failed: " + e.getMessage(), e);
             ScreenshotUtils.takeScreenshot(driver, "SearchEmployeeTest_testSearchEmployeeByName_failed.png");
@@ -29,4 +40,25 @@ public class SearchEmployeeTest extends BaseTest {
             logger.info("Finished test: testSearchEmployeeByName");
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testEmployeeListRowsHaveIds() {
+        logger.info("Starting test: testEmployeeListRowsHaveIds");
+        try {
+            PIMPage pimPage = new PageNavigator(driver).toPIM();
+
+            Map<Boolean, Long> rowsById = pimPage.streamEmployeeRows()
+                    .collect(Collectors.partitioningBy(row -> row.getOrDefault("Id", "").isEmpty(), Collectors.counting()));
+
+            logger.info("Validated {} employee rows", rowsById.get(false) + rowsById.get(true));
+            Assert.assertTrue(rowsById.get(false) > 0, "Employee list is empty");
+            Assert.assertEquals(rowsById.get(true).longValue(), 0L, "Employee rows without Id found");
+        } catch (Exception e) {
+            logger.error("Test failed: " + e.getMessage(), e);
+            ScreenshotUtils.takeScreenshot(driver, "SearchEmployeeTest_testEmployeeListRowsHaveIds_failed.png");
+            Assert.fail("Test failed: " + e.getMessage());
+        } finally {
+            logger.info("Finished test: testEmployeeListRowsHaveIds");
+        }
+    }
+}
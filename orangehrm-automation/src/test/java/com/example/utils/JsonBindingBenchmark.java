@@ -0,0 +1,85 @@
+package com.example.utils;
+
+import com.example.config.Constants;
+import com.example.dataproviders.EmployeeRecord;
+import org.json.JSONObject;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares the ways DataUtils can load a large JSON fixture.
+ * Generates an employees file with SyntheticDataGenerator, then times and measures retained heap for:
+ * org.json parsing followed by jsonArrayToList, direct Jackson binding to a Map, typed record binding,
+ * and streaming record binding that retains nothing.
+ *
+ * <p>Usage: JsonBindingBenchmark [records] [iterations]</p>
+ */
+public class JsonBindingBenchmark {
+
+    private static final String FILE_NAME = "generated/benchmark-employees.json";
+
+    public static void main(String[] args) {
+        long records = args.length > 0 ? Long.parseLong(args[0]) : 200_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path file = Paths.get(Constants.TEST_DATA_PATH, FILE_NAME);
+        if (!Files.exists(file)) {
+            new SyntheticDataGenerator(42L).writeJson(SyntheticDataGenerator.Dataset.EMPLOYEES, records, file);
+        }
+
+        run("org.json + jsonArrayToList", iterations, () -> {
+            JSONObject json = DataUtils.readDataFromJson(FILE_NAME);
+            @SuppressWarnings("deprecation")
+            List<Object> rows = DataUtils.jsonArrayToList(json.getJSONArray("employees"));
+            return rows;
+        });
+        run("Jackson readJsonAsMap", iterations, () -> DataUtils.readJsonAsMap(FILE_NAME));
+        run("Jackson readJsonRecords", iterations,
+                () -> DataUtils.readJsonRecords(FILE_NAME, "employees", EmployeeRecord.class));
+        run("Jackson streamJsonRecords", iterations, () -> {
+            Iterator<EmployeeRecord> iterator = DataUtils.streamJsonRecords(FILE_NAME, "employees", EmployeeRecord.class);
+            long count = 0;
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+            return count;
+        });
+    }
+
+    private static void run(String name, int iterations, Supplier<Object> task) {
+        // Warm up the JIT before measuring
+        task.get();
+
+        long best = Long.MAX_VALUE;
+        long total = 0;
+        long retained = 0;
+        for (int i = 0; i < iterations; i++) {
+            long heapBefore = usedHeap();
+            long start = System.nanoTime();
+            Object result = task.get();
+            long elapsed = System.nanoTime() - start;
+            retained = usedHeap() - heapBefore;
+            best = Math.min(best, elapsed);
+            total += elapsed;
+            if (result == null) {
+                throw new IllegalStateException(name + " returned no data");
+            }
+        }
+        System.out.printf("%-30s best %6d ms  mean %6d ms  retained %5d MB%n",
+                name, best / 1_000_000, total / iterations / 1_000_000, retained / (1024 * 1024));
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Known-answer tests for the Mann-Whitney U p-value used by {@link RegressionDetector}.
+ * Expected values are those of R's {@code wilcox.test(current, baseline, alternative = "greater", exact = FALSE)},
+ * i.e. the normal approximation with tie and continuity correction.
+ */
+public class RegressionDetectorTest {
+
+    private static final double TOLERANCE = 1e-5;
+
+    /**
+     * Tests fully separated samples: U = 25, p = 0.006093.
+     */
+    @Test(groups = "unit", description = "Verify the p-value of two fully separated samples")
+    public void testSeparatedSamples() {
+        double p = RegressionDetector.pValue(samples(1, 2, 3, 4, 5), samples(6, 7, 8, 9, 10));
+        Assert.assertEquals(p, 0.006093, TOLERANCE, "Unexpected p-value for separated samples");
+    }
+
+    /**
+     * Tests overlapping samples with ties inside and across the groups: U = 36, p = 0.018104.
+     */
+    @Test(groups = "unit", description = "Verify the tie-corrected p-value of overlapping samples")
+    public void testTiedSamples() {
+        double p = RegressionDetector.pValue(samples(1, 2, 2, 3, 4, 5), samples(3, 4, 4, 5, 6, 6, 7));
+        Assert.assertEquals(p, 0.018104, TOLERANCE, "Unexpected p-value for tied samples");
+    }
+
+    /**
+     * Tests that a speed-up is not significant: U = 0, p = 0.996692.
+     */
+    @Test(groups = "unit", description = "Verify that faster samples are not flagged")
+    public void testFasterSamples() {
+        double p = RegressionDetector.pValue(samples(6, 7, 8, 9, 10), samples(1, 2, 3, 4, 5));
+        Assert.assertEquals(p, 0.996692, TOLERANCE, "Unexpected p-value for faster samples");
+    }
+
+    /**
+     * Tests that identical samples give p close to 0.5: U = 12.5, p = 0.542235 after continuity correction.
+     */
+    @Test(groups = "unit", description = "Verify the p-value of identical samples")
+    public void testIdenticalSamples() {
+        double p = RegressionDetector.pValue(samples(1, 2, 3, 4, 5), samples(1, 2, 3, 4, 5));
+        Assert.assertEquals(p, 0.542235, TOLERANCE, "Unexpected p-value for identical samples");
+    }
+
+    /**
+     * Tests that samples which are all equal cannot be told apart.
+     */
+    @Test(groups = "unit", description = "Verify that constant samples give p = 1")
+    public void testConstantSamples() {
+        Assert.assertEquals(RegressionDetector.pValue(samples(5, 5, 5), samples(5, 5, 5)), 1.0, 0.0);
+        Assert.assertEquals(RegressionDetector.pValue(samples(), samples(5, 5, 5)), 1.0, 0.0);
+    }
+
+    private static NavigableMap<Long, Long> samples(long... values) {
+        NavigableMap<Long, Long> samples = new TreeMap<>();
+        for (long value : values) {
+            samples.merge(value, 1L, Long::sum);
+        }
+        return samples;
+    }
+}